@@ -0,0 +1,120 @@
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Time from launch until a service reports ready, and its resident memory at that moment. It
+ * compares the plain jar, the same jar with its AOT-generated bean definitions, and the extracted
+ * jar with AOT plus the class-data-sharing archive from the fast-startup profile, which is expected
+ * in a fast-startup directory next to the jar. Every variant is started several times and the
+ * medians are reported. Memory is read from /proc (Linux).
+ *
+ * The service counts as ready once {@code readyUrl} answers 200. Point it at
+ * /actuator/health/readiness where the service has Actuator: that only turns 200 after the startup
+ * runners are done, while other endpoints already answer while they are still running. The
+ * service's backends must be up, as for a normal start.
+ *
+ * <pre>
+ * java benchmarks/StartupBenchmark.java &lt;jar&gt; &lt;readyUrl&gt; [runs]
+ * </pre>
+ */
+public class StartupBenchmark {
+
+    private static final long TIMEOUT_SECONDS = 120;
+    private static final Pattern VM_RSS = Pattern.compile("VmRSS:\\s+(\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("Usage: StartupBenchmark <jar> <readyUrl> [runs]");
+            System.exit(2);
+        }
+        Path jar = Path.of(args[0]).toAbsolutePath();
+        URI readyUrl = URI.create(args[1]);
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+        measure("jar", runs, client, readyUrl, null, List.of(java, "-jar", jar.toString()));
+        measure("aot", runs, client, readyUrl, null, List.of(java, "-Dspring.aot.enabled=true", "-jar", jar.toString()));
+        measure("aot+cds", runs, client, readyUrl, jar.resolveSibling("fast-startup").toFile(), List.of(java,
+                "-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true",
+                "-jar", jar.getFileName().toString()));
+    }
+
+    private static void measure(String name, int runs, HttpClient client, URI readyUrl, File directory,
+                                List<String> command)
+            throws Exception {
+        List<Long> millis = new ArrayList<>(runs);
+        List<Long> rssKb = new ArrayList<>(runs);
+        for (int run = 0; run < runs; run++) {
+            Process process = new ProcessBuilder(command)
+                    .directory(directory)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            try {
+                long started = System.nanoTime();
+                awaitReady(client, readyUrl, process);
+                millis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                rssKb.add(rss(process.pid()));
+            } finally {
+                process.destroy();
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly().waitFor();
+                }
+            }
+        }
+        System.out.printf("%-8s ready after %,6d ms  rss=%,8d KB  (median of %d runs)%n",
+                name, median(millis), median(rssKb), runs);
+    }
+
+    private static void awaitReady(HttpClient client, URI readyUrl, Process process) throws Exception {
+        HttpRequest probe = HttpRequest.newBuilder(readyUrl).timeout(Duration.ofSeconds(5)).GET().build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        int lastStatus = 0;
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Server exited with " + process.exitValue());
+            }
+            try {
+                lastStatus = client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (lastStatus == 200) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("No 200 from " + readyUrl + " within " + TIMEOUT_SECONDS + "s"
+                + (lastStatus != 0 ? ", last status " + lastStatus : ""));
+    }
+
+    private static long rss(long pid) {
+        try {
+            Matcher rss = VM_RSS.matcher(Files.readString(Path.of("/proc", String.valueOf(pid), "status")));
+            return rss.find() ? Long.parseLong(rss.group(1)) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+}
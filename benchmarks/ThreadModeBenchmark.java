@@ -0,0 +1,182 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Max sustained requests/sec and server memory for GET {collection}/{id} of a running service, to
+ * compare the default platform-thread mode with a service's virtual-threads profile. Concurrency
+ * doubles step by step; a step is sustained while at most 1% of requests fail and p99 stays under
+ * the SLO. Failed requests count toward p99 as slower than any SLO, so errors that come back fast
+ * can't make a step look sustained. The ramp stops at the first step that isn't. After every step
+ * the server's resident memory and thread count are read from /proc/{pid}/status (Linux).
+ *
+ * The ids to read are seeded first by POSTing {@code seedJson} to the collection, with {@code %d}
+ * replaced by the seed's index. Seeded entities are left in place.
+ *
+ * <pre>
+ * java benchmarks/ThreadModeBenchmark.java &lt;baseUrl&gt; &lt;collectionPath&gt; &lt;seedJson&gt; [serverPid] [label] [sloMillis] [secondsPerStep]
+ * java benchmarks/ThreadModeBenchmark.java http://localhost:8081 /api/todos '{"title": "threads %d", "completed": false}' $PID platform
+ * </pre>
+ */
+public class ThreadModeBenchmark {
+
+    private static final int SEED = 200;
+    private static final int START_IN_FLIGHT = 32;
+    private static final int MAX_IN_FLIGHT = 4096;
+    private static final double MAX_ERROR_RATE = 0.01;
+    // One bucket per millisecond; slower requests land in the last one
+    private static final int LATENCY_BUCKETS = 10_000;
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"?([^\",}]+)");
+    private static final Pattern STATUS_KB = Pattern.compile("(VmRSS|Threads):\\s+(\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.out.println("Usage: ThreadModeBenchmark <baseUrl> <collectionPath> <seedJson> "
+                    + "[serverPid] [label] [sloMillis] [secondsPerStep]");
+            System.exit(2);
+        }
+        String collection = args[0] + args[1];
+        String seedJson = args[2];
+        String pid = args.length > 3 ? args[3] : null;
+        String label = args.length > 4 ? args[4] : "server";
+        long sloMillis = args.length > 5 ? Long.parseLong(args[5]) : 500;
+        int seconds = args.length > 6 ? Integer.parseInt(args[6]) : 15;
+        HttpClient client = HttpClient.newHttpClient();
+
+        List<String> ids = seed(client, collection, seedJson);
+        String url = collection + "/";
+        // Warm-up so every step runs JIT-compiled code
+        drive(client, url, ids, START_IN_FLIGHT, TimeUnit.SECONDS.toNanos(5));
+
+        double bestRps = 0;
+        int bestInFlight = 0;
+        long peakRssKb = 0;
+        long peakThreads = 0;
+        for (int inFlight = START_IN_FLIGHT; inFlight <= MAX_IN_FLIGHT; inFlight *= 2) {
+            Step step = drive(client, url, ids, inFlight, TimeUnit.SECONDS.toNanos(seconds));
+            long[] memory = serverStatus(pid);
+            peakRssKb = Math.max(peakRssKb, memory[0]);
+            peakThreads = Math.max(peakThreads, memory[1]);
+            boolean sustained = step.errorRate() <= MAX_ERROR_RATE && step.p99Millis() <= sloMillis;
+            System.out.printf("%-8s in-flight=%5d %9.0f req/s  p99=%5d ms  errors=%5.2f%%  rss=%,8d KB  threads=%5d  %s%n",
+                    label, inFlight, step.rps, step.p99Millis(), step.errorRate() * 100, memory[0], memory[1],
+                    sustained ? "sustained" : "saturated");
+            if (!sustained) {
+                break;
+            }
+            if (step.rps > bestRps) {
+                bestRps = step.rps;
+                bestInFlight = inFlight;
+            }
+        }
+        System.out.printf("%-8s max sustained %.0f req/s at %d in flight  peak rss=%,d KB  peak threads=%d%n",
+                label, bestRps, bestInFlight, peakRssKb, peakThreads);
+    }
+
+    private static List<String> seed(HttpClient client, String collection, String seedJson) throws Exception {
+        List<String> ids = new ArrayList<>(SEED);
+        for (int i = 0; i < SEED; i++) {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(collection))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(String.format(seedJson, i)))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            Matcher id = ID.matcher(response.body());
+            if (!id.find()) {
+                throw new IllegalStateException("Unexpected response: " + response.statusCode() + " " + response.body());
+            }
+            ids.add(id.group(1));
+        }
+        return ids;
+    }
+
+    private static Step drive(HttpClient client, String url, List<String> ids, int inFlight, long durationNanos)
+            throws InterruptedException {
+        Semaphore permits = new Semaphore(inFlight);
+        AtomicLong completed = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        AtomicLongArray latencies = new AtomicLongArray(LATENCY_BUCKETS);
+        long start = System.nanoTime();
+        long deadline = start + durationNanos;
+        while (System.nanoTime() < deadline) {
+            permits.acquire();
+            String id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+            long sent = System.nanoTime();
+            client.sendAsync(HttpRequest.newBuilder(URI.create(url + id)).GET().build(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        if (failure != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        } else {
+                            completed.incrementAndGet();
+                            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent);
+                            latencies.incrementAndGet((int) Math.min(millis, LATENCY_BUCKETS - 1));
+                        }
+                        permits.release();
+                    });
+        }
+        permits.acquire(inFlight);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        return new Step(completed.get() / elapsed, completed.get(), errors.get(), latencies);
+    }
+
+    // {VmRSS in KB, thread count} of the server process, zeros when unknown
+    private static long[] serverStatus(String pid) {
+        long[] status = new long[2];
+        if (pid == null) {
+            return status;
+        }
+        try {
+            Matcher field = STATUS_KB.matcher(Files.readString(Path.of("/proc", pid, "status")));
+            while (field.find()) {
+                status[field.group(1).equals("VmRSS") ? 0 : 1] = Long.parseLong(field.group(2));
+            }
+        } catch (IOException e) {
+            System.out.println("Could not read server status: " + e.getMessage());
+        }
+        return status;
+    }
+
+    private static final class Step {
+        final double rps;
+        final long completed;
+        final long errors;
+        final AtomicLongArray latencies;
+
+        Step(double rps, long completed, long errors, AtomicLongArray latencies) {
+            this.rps = rps;
+            this.completed = completed;
+            this.errors = errors;
+            this.latencies = latencies;
+        }
+
+        double errorRate() {
+            long total = completed + errors;
+            return total == 0 ? 1 : (double) errors / total;
+        }
+
+        // Over all requests; failed ones rank after every successful one
+        long p99Millis() {
+            long target = (long) Math.ceil((completed + errors) * 0.99);
+            long seen = 0;
+            for (int millis = 0; millis < latencies.length(); millis++) {
+                seen += latencies.get(millis);
+                if (seen >= target && target > 0) {
+                    return millis;
+                }
+            }
+            return LATENCY_BUCKETS;
+        }
+    }
+}
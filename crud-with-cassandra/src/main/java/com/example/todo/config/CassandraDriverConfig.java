@@ -0,0 +1,64 @@
+package com.example.todo.config;
+
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.example.todo.monitoring.DriverLatencyTracker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cassandra.CqlSessionBuilderCustomizer;
+import org.springframework.boot.autoconfigure.cassandra.DriverConfigLoaderBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Driver settings that spring.cassandra.* has no property for.
+ *
+ * Statements run in the {@value #READS_PROFILE} profile are idempotent and hedged: if a replica
+ * hasn't answered after the speculative delay, the same read goes to the next replica and the
+ * first answer wins. Only reads opt in; writes keep the default profile, where nothing is
+ * sent twice.
+ *
+ * Connections per local node and in-flight requests per connection are raised in the
+ * virtual-threads profile, where blocking calls are no longer capped by Tomcat's thread pool.
+ *
+ * The driver's own request logger writes requests slower than the slow-query threshold, with
+ * their CQL and the node that served them, to the log, and {@link DriverLatencyTracker}
+ * records the latency of every request. Bound values are left out of the log unless
+ * {@code todos.cassandra.log-values} is set, since they carry user data such as titles.
+ */
+@Configuration
+public class CassandraDriverConfig {
+
+    public static final String READS_PROFILE = "reads";
+
+    @Bean
+    public DriverConfigLoaderBuilderCustomizer driverConfigCustomizer(
+            @Value("${todos.cassandra.reads.speculative-delay:PT0.05S}") Duration speculativeDelay,
+            @Value("${todos.cassandra.reads.speculative-max-executions:2}") int speculativeMaxExecutions,
+            @Value("${todos.cassandra.slow-query-threshold:PT0.5S}") Duration slowQueryThreshold,
+            @Value("${todos.cassandra.log-values:false}") boolean logValues,
+            @Value("${todos.cassandra.pool.local-size:1}") int poolLocalSize,
+            @Value("${todos.cassandra.pool.max-requests-per-connection:1024}") int maxRequestsPerConnection) {
+        return builder -> builder
+                .withInt(DefaultDriverOption.CONNECTION_POOL_LOCAL_SIZE, poolLocalSize)
+                .withInt(DefaultDriverOption.CONNECTION_MAX_REQUESTS, maxRequestsPerConnection)
+                .withStringList(DefaultDriverOption.REQUEST_TRACKER_CLASSES, List.of("RequestLogger"))
+                .withBoolean(DefaultDriverOption.REQUEST_LOGGER_SUCCESS_ENABLED, false)
+                .withBoolean(DefaultDriverOption.REQUEST_LOGGER_SLOW_ENABLED, true)
+                .withDuration(DefaultDriverOption.REQUEST_LOGGER_SLOW_THRESHOLD, slowQueryThreshold)
+                .withBoolean(DefaultDriverOption.REQUEST_LOGGER_ERROR_ENABLED, true)
+                .withBoolean(DefaultDriverOption.REQUEST_LOGGER_VALUES, logValues)
+                .startProfile(READS_PROFILE)
+                .withBoolean(DefaultDriverOption.REQUEST_DEFAULT_IDEMPOTENCE, true)
+                .withString(DefaultDriverOption.SPECULATIVE_EXECUTION_POLICY_CLASS, "ConstantSpeculativeExecutionPolicy")
+                .withInt(DefaultDriverOption.SPECULATIVE_EXECUTION_MAX, speculativeMaxExecutions)
+                .withDuration(DefaultDriverOption.SPECULATIVE_EXECUTION_DELAY, speculativeDelay)
+                .endProfile();
+    }
+
+    @Bean
+    public CqlSessionBuilderCustomizer latencyTrackerCustomizer(DriverLatencyTracker latencyTracker) {
+        return builder -> builder.addRequestTracker(latencyTracker);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.todo.controller;
+
+import com.example.todo.model.Todo;
+import com.example.todo.service.ReactiveTodoService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same operations as {@link TodoController}, served asynchronously: the servlet thread is handed
+ * back as soon as the query has been sent, and the response is completed when the driver answers.
+ */
+@RestController
+@RequestMapping("/api/reactive/todos")
+public class ReactiveTodoController {
+
+    private final ReactiveTodoService todoService;
+
+    public ReactiveTodoController(ReactiveTodoService todoService) {
+        this.todoService = todoService;
+    }
+
+    // Streamed one JSON object per line; each row is written before the next one is requested
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Todo> getAll() {
+        return todoService.findAll();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<Todo> getById(@PathVariable String id) {
+        return todoService.findById(id);
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Todo> create(@Valid @RequestBody Todo todo) {
+        return todoService.create(todo);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<Todo> update(@PathVariable String id, @Valid @RequestBody Todo todo) {
+        return todoService.update(id, todo);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> delete(@PathVariable String id) {
+        return todoService.delete(id);
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.todo.controller;
 
 import com.example.todo.model.Todo;
+import com.example.todo.model.TodoPage;
+import com.example.todo.service.TodoImportService;
+import com.example.todo.service.TodoScanService;
 import com.example.todo.service.TodoService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,24 +16,49 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/todos")
 public class TodoController {
 
     private final TodoService todoService;
+    private final TodoScanService todoScanService;
+    private final TodoImportService todoImportService;
 
-    public TodoController(TodoService todoService) {
+    public TodoController(TodoService todoService, TodoScanService todoScanService,
+                          TodoImportService todoImportService) {
         this.todoService = todoService;
+        this.todoScanService = todoScanService;
+        this.todoImportService = todoImportService;
     }
 
     @GetMapping
-    public List<Todo> getAll() {
-        return todoService.findAll();
+    public ResponseEntity<StreamingResponseBody> getAll() {
+        StreamingResponseBody body = todoScanService::writeAll;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @GetMapping("/page")
+    public TodoPage getPage(@RequestParam(required = false) String cursor,
+                            @RequestParam(defaultValue = "100") int size) {
+        return todoScanService.findPage(cursor, size);
+    }
+
+    @GetMapping("/recent")
+    public TodoPage getRecent(@RequestParam(required = false) Boolean completed,
+                              @RequestParam(required = false) String before,
+                              @RequestParam(defaultValue = "50") int limit) {
+        return todoService.findRecent(completed, before, limit);
     }
 
     @GetMapping("/{id}")
@@ -42,14 +72,22 @@ public class TodoController {
         return todoService.create(todo);
     }
 
+    // The body is read as it arrives; it is never buffered whole
+    @PostMapping("/import")
+    public Map<String, Object> importTodos(InputStream body) throws IOException {
+        return todoImportService.importTodos(body);
+    }
+
     @PutMapping("/{id}")
-    public Todo update(@PathVariable String id, @Valid @RequestBody Todo todo) {
-        return todoService.update(id, todo);
+    public Todo update(@PathVariable String id,
+                       @Valid @RequestBody Todo todo,
+                       @RequestParam(defaultValue = "false") boolean ifExists) {
+        return todoService.update(id, todo, ifExists);
     }
 
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable String id) {
-        todoService.delete(id);
+    public void delete(@PathVariable String id, @RequestParam(defaultValue = "false") boolean ifExists) {
+        todoService.delete(id, ifExists);
     }
 }
@@ -1,5 +1,6 @@
 package com.example.todo.exception;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -20,6 +21,20 @@ public class GlobalExceptionHandler {
                 .body(Map.of("error", message));
     }
 
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleIllegalArgument(IllegalArgumentException exception) {
+        String message = exception.getMessage() != null ? exception.getMessage() : "Invalid request";
+        return ResponseEntity.badRequest()
+                .body(Map.of("error", message));
+    }
+
+    // Malformed rows in a bulk import; rows before them have been written
+    @ExceptionHandler(JsonProcessingException.class)
+    public ResponseEntity<Map<String, String>> handleJsonProcessing(JsonProcessingException exception) {
+        return ResponseEntity.badRequest()
+                .body(Map.of("error", "Invalid JSON: " + exception.getOriginalMessage()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidation(MethodArgumentNotValidException exception) {
         Map<String, String> errors = new HashMap<>();
@@ -0,0 +1,115 @@
+package com.example.todo.model;
+
+import com.datastax.oss.driver.api.core.uuid.Uuids;
+import org.springframework.data.cassandra.core.cql.Ordering;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.CassandraType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Copy of a todo in the table behind the status and newest-first listings. A partition holds
+ * the todos of one status created on one UTC day, newest first, so a listing reads a single
+ * partition per day it covers. Only todos with time-based ids have a row here.
+ */
+@Table("todos_by_status")
+public class TodoByStatus {
+
+    @PrimaryKeyColumn(name = "completed", ordinal = 0, type = PrimaryKeyType.PARTITIONED)
+    private boolean completed;
+
+    @PrimaryKeyColumn(name = "bucket", ordinal = 1, type = PrimaryKeyType.PARTITIONED)
+    private LocalDate bucket;
+
+    @PrimaryKeyColumn(name = "id", ordinal = 2, type = PrimaryKeyType.CLUSTERED, ordering = Ordering.DESCENDING)
+    @CassandraType(type = CassandraType.Name.TIMEUUID)
+    private UUID id;
+
+    @Column("title")
+    private String title;
+
+    /**
+     * The row for {@code todo}, or null when its id is not a time-based UUID (todos created
+     * before ids became time-ordered) and so has no creation day to bucket by.
+     */
+    public static TodoByStatus of(Todo todo) {
+        UUID id = timeBasedId(todo.getId());
+        if (id == null) {
+            return null;
+        }
+        TodoByStatus row = new TodoByStatus();
+        row.setCompleted(todo.isCompleted());
+        row.setBucket(bucketOf(id));
+        row.setId(id);
+        row.setTitle(todo.getTitle());
+        return row;
+    }
+
+    public static UUID timeBasedId(String id) {
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.version() == 1 ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public static LocalDate bucketOf(UUID timeBasedId) {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(Uuids.unixTimestamp(timeBasedId)), ZoneOffset.UTC);
+    }
+
+    // Same key in the other status partition
+    public TodoByStatus withOtherStatus() {
+        TodoByStatus row = new TodoByStatus();
+        row.setCompleted(!completed);
+        row.setBucket(bucket);
+        row.setId(id);
+        return row;
+    }
+
+    public Todo toTodo() {
+        Todo todo = new Todo();
+        todo.setId(id.toString());
+        todo.setTitle(title);
+        todo.setCompleted(completed);
+        return todo;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public LocalDate getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(LocalDate bucket) {
+        this.bucket = bucket;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+}
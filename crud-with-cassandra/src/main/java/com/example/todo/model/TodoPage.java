@@ -0,0 +1,31 @@
+package com.example.todo.model;
+
+import java.util.List;
+
+public class TodoPage {
+
+    private List<Todo> items;
+
+    private String nextCursor;
+
+    public TodoPage(List<Todo> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Todo> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Todo> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.todo.monitoring;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GET /actuator/cassandralatency} - request count and latency percentiles in
+ * milliseconds for every node and every statement the driver has run, keyed by node address or
+ * CQL text followed by the outcome.
+ */
+@Component
+@Endpoint(id = "cassandralatency")
+public class CassandraLatencyEndpoint {
+
+    private final DriverLatencyTracker latencyTracker;
+
+    public CassandraLatencyEndpoint(DriverLatencyTracker latencyTracker) {
+        this.latencyTracker = latencyTracker;
+    }
+
+    @ReadOperation
+    public Map<String, Object> latency() {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("nodes", summarize(latencyTracker.nodeTimers()));
+        latency.put("statements", summarize(latencyTracker.statementTimers()));
+        return latency;
+    }
+
+    private static Map<String, Object> summarize(Map<String, Timer> timers) {
+        Map<String, Object> summaries = new TreeMap<>();
+        timers.forEach((key, timer) -> {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", snapshot.count());
+            summary.put("mean", round(snapshot.mean(TimeUnit.MILLISECONDS)));
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                summary.put(name(percentile.percentile()), round(percentile.value(TimeUnit.MILLISECONDS)));
+            }
+            summary.put("max", round(snapshot.max(TimeUnit.MILLISECONDS)));
+            summaries.put(key, summary);
+        });
+        return summaries;
+    }
+
+    // 0.99 -> p99, 0.999 -> p99.9
+    private static String name(double percentile) {
+        double percent = Math.round(percentile * 1000) / 10.0;
+        return percent == Math.rint(percent) ? "p" + (long) percent : "p" + percent;
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 100) / 100.0;
+    }
+}
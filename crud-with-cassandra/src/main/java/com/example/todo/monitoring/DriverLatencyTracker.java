@@ -0,0 +1,123 @@
+package com.example.todo.monitoring;
+
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.session.Request;
+import com.datastax.oss.driver.api.core.tracker.RequestTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records driver request latencies as Micrometer timers with client-side percentiles:
+ * <ul>
+ *   <li>{@code cassandra.node.latency} - every attempt sent to a node, including speculative
+ *   ones and retries, tagged with the node, its datacenter and the outcome</li>
+ *   <li>{@code cassandra.statement.latency} - whole requests as the application sees them,
+ *   tagged with the CQL text and the outcome</li>
+ * </ul>
+ * A slow replica shows up as one node whose percentiles stand out while the statement
+ * percentiles stay low, as long as hedged reads cover for it.
+ */
+@Component
+public class DriverLatencyTracker implements RequestTracker {
+
+    // Statements beyond this many distinct CQL strings share one timer
+    private static final int MAX_STATEMENTS = 200;
+    private static final String OTHER_STATEMENTS = "other";
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99, 0.999};
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> nodeTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> statementTimers = new ConcurrentHashMap<>();
+
+    public DriverLatencyTracker(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void onNodeSuccess(Request request, long latencyNanos, DriverExecutionProfile executionProfile,
+                              Node node, String requestLogPrefix) {
+        nodeTimer(node, "success").record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onNodeError(Request request, Throwable error, long latencyNanos,
+                            DriverExecutionProfile executionProfile, Node node, String requestLogPrefix) {
+        nodeTimer(node, "error").record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onSuccess(Request request, long latencyNanos, DriverExecutionProfile executionProfile,
+                          Node node, String requestLogPrefix) {
+        statementTimer(request, "success").record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onError(Request request, Throwable error, long latencyNanos,
+                        DriverExecutionProfile executionProfile, Node node, String requestLogPrefix) {
+        statementTimer(request, "error").record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void close() {
+        // Timers stay registered; the registry outlives the session
+    }
+
+    public Map<String, Timer> nodeTimers() {
+        return nodeTimers;
+    }
+
+    public Map<String, Timer> statementTimers() {
+        return statementTimers;
+    }
+
+    private Timer nodeTimer(Node node, String outcome) {
+        String address = String.valueOf(node.getEndPoint());
+        return nodeTimers.computeIfAbsent(address + " " + outcome, key -> Timer.builder("cassandra.node.latency")
+                .tag("node", address)
+                .tag("datacenter", String.valueOf(node.getDatacenter()))
+                .tag("outcome", outcome)
+                .publishPercentiles(PERCENTILES)
+                .register(registry));
+    }
+
+    private Timer statementTimer(Request request, String outcome) {
+        String cql = cql(request);
+        String key = cql + " " + outcome;
+        Timer timer = statementTimers.get(key);
+        if (timer != null) {
+            return timer;
+        }
+        if (statementTimers.size() >= MAX_STATEMENTS) {
+            cql = OTHER_STATEMENTS;
+            key = cql + " " + outcome;
+        }
+        String statement = cql;
+        return statementTimers.computeIfAbsent(key, k -> Timer.builder("cassandra.statement.latency")
+                .tag("statement", statement)
+                .tag("outcome", outcome)
+                .publishPercentiles(PERCENTILES)
+                .register(registry));
+    }
+
+    private static String cql(Request request) {
+        if (request instanceof BoundStatement bound) {
+            return bound.getPreparedStatement().getQuery();
+        }
+        if (request instanceof SimpleStatement simple) {
+            return simple.getQuery();
+        }
+        if (request instanceof BatchStatement batch) {
+            return "BATCH " + batch.getBatchType();
+        }
+        return request.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.todo.monitoring;
+
+import com.example.todo.service.TodoImportService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/todoimports} - rows read, imported, rejected and failed, and rows/sec,
+ * for the bulk imports that are running and the last ones that finished.
+ */
+@Component
+@Endpoint(id = "todoimports")
+public class TodoImportEndpoint {
+
+    private final TodoImportService todoImportService;
+
+    public TodoImportEndpoint(TodoImportService todoImportService) {
+        this.todoImportService = todoImportService;
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> imports() {
+        return todoImportService.progress();
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.todo.repository;
+
+import com.example.todo.model.Todo;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+
+public interface ReactiveTodoRepository extends ReactiveCassandraRepository<Todo, String> {
+}
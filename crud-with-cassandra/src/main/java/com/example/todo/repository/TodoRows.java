@@ -0,0 +1,24 @@
+package com.example.todo.repository;
+
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.example.todo.model.Todo;
+
+/**
+ * Mapping for statements that go through the driver directly instead of Spring Data, such as
+ * the prepared, hedged read by id in TodoService.
+ */
+public final class TodoRows {
+
+    public static final String COLUMNS = "id, title, completed";
+
+    private TodoRows() {
+    }
+
+    public static Todo map(Row row) {
+        Todo todo = new Todo();
+        todo.setId(row.getString("id"));
+        todo.setTitle(row.getString("title"));
+        todo.setCompleted(row.getBoolean("completed"));
+        return todo;
+    }
+}
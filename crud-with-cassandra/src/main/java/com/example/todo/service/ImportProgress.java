@@ -0,0 +1,73 @@
+package com.example.todo.service;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of one bulk import, updated from the driver's I/O threads as writes complete.
+ */
+public class ImportProgress {
+
+    private final String id;
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong read = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong statusBatches = new AtomicLong();
+    private final AtomicLong failedStatusBatches = new AtomicLong();
+    private volatile String lastError;
+    private volatile long endNanos;
+
+    public ImportProgress(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    void rowRead() {
+        read.incrementAndGet();
+    }
+
+    void rowRejected() {
+        rejected.incrementAndGet();
+    }
+
+    // A todos insert or a todos_by_status batch completed; error is null when it succeeded
+    void written(boolean statusBatch, Throwable error) {
+        if (error == null) {
+            (statusBatch ? statusBatches : imported).incrementAndGet();
+            return;
+        }
+        (statusBatch ? failedStatusBatches : failed).incrementAndGet();
+        lastError = error.getMessage() != null ? error.getMessage() : error.getClass().getName();
+    }
+
+    void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    public Map<String, Object> snapshot() {
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        double seconds = Math.max(end - startNanos, 1) / 1e9;
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("id", id);
+        snapshot.put("startedAt", startedAt.toString());
+        snapshot.put("finished", endNanos != 0);
+        snapshot.put("rowsRead", read.get());
+        snapshot.put("rowsImported", imported.get());
+        snapshot.put("rowsRejected", rejected.get());
+        snapshot.put("rowsFailed", failed.get());
+        snapshot.put("statusBatches", statusBatches.get());
+        snapshot.put("statusBatchesFailed", failedStatusBatches.get());
+        snapshot.put("elapsedMillis", Math.round(seconds * 1000));
+        snapshot.put("rowsPerSecond", Math.round(imported.get() / seconds));
+        snapshot.put("lastError", lastError);
+        return snapshot;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.todo.service;
+
+import com.datastax.oss.driver.api.core.uuid.Uuids;
+import com.example.todo.exception.NotFoundException;
+import com.example.todo.model.Todo;
+import com.example.todo.model.TodoByStatus;
+import com.example.todo.repository.ReactiveTodoRepository;
+import org.springframework.data.cassandra.core.ReactiveCassandraBatchOperations;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link TodoService}. Nothing here waits on the driver: results are
+ * published from the driver's I/O threads, and {@link #findAll()} only fetches the next page
+ * of rows once the subscriber has asked for more. Writes keep {@code todos_by_status} in step
+ * in the same logged batch, as the blocking service does.
+ */
+@Service
+public class ReactiveTodoService {
+
+    private final ReactiveTodoRepository todoRepository;
+    private final ReactiveCassandraOperations cassandraOperations;
+
+    public ReactiveTodoService(ReactiveTodoRepository todoRepository,
+                               ReactiveCassandraOperations cassandraOperations) {
+        this.todoRepository = todoRepository;
+        this.cassandraOperations = cassandraOperations;
+    }
+
+    public Flux<Todo> findAll() {
+        return todoRepository.findAll();
+    }
+
+    public Mono<Todo> findById(String id) {
+        return todoRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Todo not found with id: " + id)));
+    }
+
+    public Mono<Todo> create(Todo todo) {
+        Todo newTodo = new Todo();
+        newTodo.setId(Uuids.timeBased().toString());
+        newTodo.setTitle(todo.getTitle());
+        newTodo.setCompleted(todo.isCompleted());
+        ReactiveCassandraBatchOperations batch = cassandraOperations.batchOps().insert(newTodo);
+        writeStatusRow(batch, newTodo);
+        return batch.execute().thenReturn(newTodo);
+    }
+
+    public Mono<Todo> update(String id, Todo updatedTodo) {
+        if (updatedTodo == null) {
+            return Mono.error(new IllegalArgumentException("Updated todo cannot be null"));
+        }
+        return findById(id)
+                .flatMap(existingTodo -> {
+                    existingTodo.setTitle(updatedTodo.getTitle());
+                    existingTodo.setCompleted(updatedTodo.isCompleted());
+                    ReactiveCassandraBatchOperations batch = cassandraOperations.batchOps().update(existingTodo);
+                    writeStatusRow(batch, existingTodo);
+                    return batch.execute().thenReturn(existingTodo);
+                });
+    }
+
+    public Mono<Void> delete(String id) {
+        return findById(id).flatMap(existingTodo -> {
+            ReactiveCassandraBatchOperations batch = cassandraOperations.batchOps().delete(existingTodo);
+            TodoByStatus row = TodoByStatus.of(existingTodo);
+            if (row != null) {
+                batch.delete(row);
+            }
+            return batch.execute().then();
+        });
+    }
+
+    private static void writeStatusRow(ReactiveCassandraBatchOperations batch, Todo todo) {
+        TodoByStatus row = TodoByStatus.of(todo);
+        if (row != null) {
+            batch.delete(row.withOtherStatus());
+            batch.insert(row);
+        }
+    }
+}
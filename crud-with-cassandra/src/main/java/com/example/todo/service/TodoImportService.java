@@ -0,0 +1,214 @@
+package com.example.todo.service;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchType;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.uuid.Uuids;
+import com.example.todo.model.Todo;
+import com.example.todo.model.TodoByStatus;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Loads a stream of todos (newline-delimited JSON objects, or one JSON array) without
+ * going through a write per request.
+ *
+ * Every {@code todos} row is its own partition, so those inserts are sent one by one; the
+ * driver routes each to a replica of its id's token. {@code todos_by_status} rows are grouped
+ * by their (completed, bucket) partition into unlogged batches, which also go to a replica of
+ * that partition, so no coordinator has to fan a batch out. At most {@code max-in-flight}
+ * writes are outstanding; reading the stream waits for a slot, which slows the upload down
+ * instead of queueing writes on the coordinators.
+ *
+ * Each status row also comes with a delete of the same id from the other status partition of
+ * its day, so importing a todo that already exists with the other status moves it instead of
+ * listing it twice. The delete goes into the other partition's batch.
+ *
+ * Unlike the single-todo writes, the two tables are not written in one logged batch, so a
+ * failed import can leave them out of step; the writes are idempotent, so re-running the same
+ * import repairs that. Writes are not ordered against each other, so an id that appears more
+ * than once in one stream ends up with any one of its versions.
+ */
+@Service
+public class TodoImportService {
+
+    private static final int FINISHED_KEPT = 20;
+
+    private final CqlSession session;
+    private final ObjectReader todoReader;
+    private final PreparedStatement insertTodo;
+    private final PreparedStatement insertByStatus;
+    private final PreparedStatement deleteByStatus;
+    private final int maxInFlight;
+    private final int batchSize;
+    private final int maxPendingRows;
+    private final Map<String, ImportProgress> running = new ConcurrentHashMap<>();
+    private final Deque<ImportProgress> finished = new ConcurrentLinkedDeque<>();
+
+    public TodoImportService(CqlSession session,
+                             ObjectMapper objectMapper,
+                             @Value("${todos.import.max-in-flight:256}") int maxInFlight,
+                             @Value("${todos.import.batch-size:50}") int batchSize,
+                             @Value("${todos.import.max-pending-rows:20000}") int maxPendingRows) {
+        this.session = session;
+        this.todoReader = objectMapper.readerFor(Todo.class);
+        this.maxInFlight = maxInFlight;
+        this.batchSize = batchSize;
+        this.maxPendingRows = maxPendingRows;
+        this.insertTodo = session.prepare("INSERT INTO todos (id, title, completed) VALUES (?, ?, ?)");
+        this.insertByStatus = session.prepare(
+                "INSERT INTO todos_by_status (completed, bucket, id, title) VALUES (?, ?, ?, ?)");
+        this.deleteByStatus = session.prepare(
+                "DELETE FROM todos_by_status WHERE completed = ? AND bucket = ? AND id = ?");
+    }
+
+    /**
+     * Imports every todo in {@code in} and returns the final counters. Todos without an id get a
+     * time-based one; todos without a title are skipped.
+     */
+    public Map<String, Object> importTodos(InputStream in) throws IOException {
+        ImportProgress progress = new ImportProgress(UUID.randomUUID().toString());
+        running.put(progress.getId(), progress);
+        Semaphore permits = new Semaphore(maxInFlight);
+        Map<StatusPartition, List<BoundStatement>> pending = new HashMap<>();
+        int pendingRows = 0;
+        try (MappingIterator<Todo> todos = todoReader.readValues(in)) {
+            while (todos.hasNextValue()) {
+                Todo todo = todos.nextValue();
+                progress.rowRead();
+                if (todo.getTitle() == null || todo.getTitle().isBlank()) {
+                    progress.rowRejected();
+                    continue;
+                }
+                String id = todo.getId() != null && !todo.getId().isEmpty() ? todo.getId() : Uuids.timeBased().toString();
+                submit(insertTodo.bind(id, todo.getTitle(), todo.isCompleted()).setIdempotent(true),
+                        false, permits, progress);
+
+                UUID timeBasedId = TodoByStatus.timeBasedId(id);
+                if (timeBasedId == null) {
+                    continue;
+                }
+                LocalDate bucket = TodoByStatus.bucketOf(timeBasedId);
+                StatusPartition partition = new StatusPartition(todo.isCompleted(), bucket);
+                StatusPartition other = new StatusPartition(!todo.isCompleted(), bucket);
+                pendingRows += add(pending, other, deleteByStatus.bind(other.completed, bucket, timeBasedId),
+                        permits, progress);
+                pendingRows += add(pending, partition,
+                        insertByStatus.bind(partition.completed, bucket, timeBasedId, todo.getTitle()),
+                        permits, progress);
+                if (pendingRows >= maxPendingRows) {
+                    // Rows spread over many days: flush the partial batches rather than hold them all
+                    flush(pending.values(), permits, progress);
+                    pending.clear();
+                    pendingRows = 0;
+                }
+            }
+            flush(pending.values(), permits, progress);
+        } finally {
+            // Waits for the outstanding writes, whether the stream ended or broke off
+            permits.acquireUninterruptibly(maxInFlight);
+            progress.finish();
+            running.remove(progress.getId());
+            finished.addFirst(progress);
+            while (finished.size() > FINISHED_KEPT) {
+                finished.pollLast();
+            }
+        }
+        return progress.snapshot();
+    }
+
+    /**
+     * Running imports first, then the most recently finished ones.
+     */
+    public List<Map<String, Object>> progress() {
+        List<Map<String, Object>> snapshots = new ArrayList<>();
+        for (ImportProgress progress : running.values()) {
+            snapshots.add(progress.snapshot());
+        }
+        for (ImportProgress progress : finished) {
+            snapshots.add(progress.snapshot());
+        }
+        return snapshots;
+    }
+
+    // Adds the statement to its partition's batch, sending the batch once full; returns the change in pending rows
+    private int add(Map<StatusPartition, List<BoundStatement>> pending, StatusPartition partition,
+                    BoundStatement statement, Semaphore permits, ImportProgress progress) {
+        List<BoundStatement> group = pending.computeIfAbsent(partition, key -> new ArrayList<>(batchSize));
+        group.add(statement);
+        if (group.size() < batchSize) {
+            return 1;
+        }
+        submitBatch(pending.remove(partition), permits, progress);
+        return 1 - group.size();
+    }
+
+    private void flush(Collection<List<BoundStatement>> groups, Semaphore permits, ImportProgress progress) {
+        for (List<BoundStatement> group : groups) {
+            submitBatch(group, permits, progress);
+        }
+    }
+
+    private void submitBatch(List<BoundStatement> group, Semaphore permits, ImportProgress progress) {
+        // A batch routes by its first statement's partition key, which all of them share
+        BatchStatement batch = BatchStatement.newInstance(BatchType.UNLOGGED)
+                .addAll(group)
+                .setIdempotent(true);
+        submit(batch, true, permits, progress);
+    }
+
+    private void submit(Statement<?> statement, boolean statusBatch, Semaphore permits, ImportProgress progress) {
+        permits.acquireUninterruptibly();
+        session.executeAsync(statement).whenComplete((result, failure) -> {
+            progress.written(statusBatch, failure);
+            permits.release();
+        });
+    }
+
+    private static final class StatusPartition {
+        private final boolean completed;
+        private final LocalDate bucket;
+
+        StatusPartition(boolean completed, LocalDate bucket) {
+            this.completed = completed;
+            this.bucket = bucket;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof StatusPartition other)) {
+                return false;
+            }
+            return completed == other.completed && bucket.equals(other.bucket);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(completed, bucket);
+        }
+    }
+}
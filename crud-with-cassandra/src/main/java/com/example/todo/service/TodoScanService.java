@@ -0,0 +1,181 @@
+package com.example.todo.service;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PagingState;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+import com.example.todo.model.Todo;
+import com.example.todo.model.TodoPage;
+import com.example.todo.repository.TodoRows;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-table reads that don't funnel through one coordinator or one in-memory list.
+ *
+ * {@link #writeAll} splits every token range of the ring into sub-ranges and scans them
+ * asynchronously, each query routed to a replica that owns its range. Every request has its own
+ * budget of {@code todos.scan.parallelism} range queries in flight, and the next page of a range
+ * is only fetched once the caller has written the previous one. A slow client therefore slows
+ * down its own scan and holds at most that many pages; no thread is parked on its behalf, and
+ * other scans are not affected.
+ *
+ * {@link #findPage} reads one driver page at a time and returns the driver's paging state as an
+ * opaque cursor for the next call.
+ */
+@Service
+public class TodoScanService {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final CqlSession session;
+    private final ObjectMapper objectMapper;
+    private final PreparedStatement rangeScan;
+    private final PreparedStatement tailScan;
+    private final PreparedStatement pageQuery;
+    private final int parallelism;
+    private final int splitsPerRange;
+    private final int scanPageSize;
+    private final Duration pageTimeout;
+
+    public TodoScanService(CqlSession session,
+                           ObjectMapper objectMapper,
+                           @Value("${todos.scan.parallelism:8}") int parallelism,
+                           @Value("${todos.scan.splits-per-range:4}") int splitsPerRange,
+                           @Value("${todos.scan.page-size:1000}") int scanPageSize,
+                           @Value("${todos.scan.page-timeout:PT30S}") Duration pageTimeout) {
+        this.session = session;
+        this.objectMapper = objectMapper;
+        this.parallelism = parallelism;
+        this.splitsPerRange = splitsPerRange;
+        this.scanPageSize = scanPageSize;
+        this.pageTimeout = pageTimeout;
+        this.rangeScan = session.prepare("SELECT " + TodoRows.COLUMNS + " FROM todos WHERE token(id) > ? AND token(id) <= ?");
+        this.tailScan = session.prepare("SELECT " + TodoRows.COLUMNS + " FROM todos WHERE token(id) > ?");
+        this.pageQuery = session.prepare("SELECT " + TodoRows.COLUMNS + " FROM todos");
+    }
+
+    /**
+     * Writes every todo to {@code out} as one JSON array. Order follows whichever range answers
+     * first, not the ring.
+     */
+    public void writeAll(OutputStream out) throws IOException {
+        try (JsonGenerator json = objectMapper.createGenerator(out)) {
+            json.writeStartArray();
+            scan(json::writeObject);
+            json.writeEndArray();
+        }
+    }
+
+    public TodoPage findPage(String cursor, int size) {
+        BoundStatement statement = pageQuery.bind().setPageSize(Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        if (cursor != null && !cursor.isEmpty()) {
+            // Rejects cursors that were not issued for this query
+            statement = statement.setPagingState(PagingState.fromString(cursor), session);
+        }
+        ResultSet result = session.execute(statement);
+
+        int available = result.getAvailableWithoutFetching();
+        List<Todo> items = new ArrayList<>(available);
+        for (int i = 0; i < available; i++) {
+            items.add(TodoRows.map(result.one()));
+        }
+        PagingState next = result.getExecutionInfo().getSafePagingState();
+        return new TodoPage(items, next != null ? next.toString() : null);
+    }
+
+    private void scan(TodoSink sink) throws IOException {
+        Deque<BoundStatement> ranges = new ArrayDeque<>(rangeStatements());
+        // Holds at most one completed page per range in flight, so it needs no bound of its own
+        BlockingQueue<Object> pages = new LinkedBlockingQueue<>();
+        int inFlight = 0;
+        while (inFlight < parallelism && !ranges.isEmpty()) {
+            fetch(session.executeAsync(ranges.poll()), pages);
+            inFlight++;
+        }
+        try {
+            while (inFlight > 0) {
+                Object item = pages.poll(pageTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                if (item == null) {
+                    throw new IllegalStateException("No page within " + pageTimeout + ", scan abandoned");
+                }
+                if (item instanceof Throwable failure) {
+                    throw failure instanceof RuntimeException runtime ? runtime : new IllegalStateException(failure);
+                }
+                AsyncResultSet page = (AsyncResultSet) item;
+                for (Row row : page.currentPage()) {
+                    sink.accept(TodoRows.map(row));
+                }
+                // Only now that the client has taken this page is the next one requested
+                if (page.hasMorePages()) {
+                    fetch(page.fetchNextPage(), pages);
+                } else if (!ranges.isEmpty()) {
+                    fetch(session.executeAsync(ranges.poll()), pages);
+                } else {
+                    inFlight--;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Scan interrupted", e);
+        }
+    }
+
+    // Completes on a driver I/O thread, which only hands the page over and never waits
+    private static void fetch(CompletionStage<AsyncResultSet> request, BlockingQueue<Object> pages) {
+        request.whenComplete((page, failure) -> {
+            if (failure instanceof CompletionException && failure.getCause() != null) {
+                failure = failure.getCause();
+            }
+            pages.add(failure != null ? failure : page);
+        });
+    }
+
+    private List<BoundStatement> rangeStatements() {
+        TokenMap tokenMap = session.getMetadata().getTokenMap()
+                .orElseThrow(() -> new IllegalStateException("Token metadata is not available"));
+        // Murmur3Partitioner: the minimum token is never assigned to a row, so (t, min] means "after t"
+        Token minToken = tokenMap.parse(String.valueOf(Long.MIN_VALUE));
+
+        List<BoundStatement> statements = new ArrayList<>();
+        for (TokenRange range : tokenMap.getTokenRanges()) {
+            // (t, t] is the whole ring, which has no bounded form until it is split
+            int splits = range.isFullRing() ? Math.max(splitsPerRange, 2) : splitsPerRange;
+            for (TokenRange split : range.splitEvenly(splits)) {
+                for (TokenRange part : split.unwrap()) {
+                    BoundStatement statement = part.getEnd().equals(minToken)
+                            ? tailScan.bind().setToken(0, part.getStart())
+                            : rangeScan.bind().setToken(0, part.getStart()).setToken(1, part.getEnd());
+                    statements.add(statement.setRoutingToken(part.getEnd()).setPageSize(scanPageSize));
+                }
+            }
+        }
+        return statements;
+    }
+
+    @FunctionalInterface
+    private interface TodoSink {
+        void accept(Todo todo) throws IOException;
+    }
+}
@@ -1,51 +1,193 @@
 package com.example.todo.service;
 
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.uuid.Uuids;
+import com.example.todo.config.CassandraDriverConfig;
 import com.example.todo.exception.NotFoundException;
 import com.example.todo.model.Todo;
-import com.example.todo.repository.TodoRepository;
+import com.example.todo.model.TodoByStatus;
+import com.example.todo.model.TodoPage;
+import com.example.todo.repository.TodoRows;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.cassandra.core.CassandraBatchOperations;
+import org.springframework.data.cassandra.core.CassandraOperations;
+import org.springframework.data.cassandra.core.DeleteOptions;
+import org.springframework.data.cassandra.core.UpdateOptions;
+import org.springframework.data.cassandra.core.cql.QueryOptions;
+import org.springframework.data.cassandra.core.query.Criteria;
+import org.springframework.data.cassandra.core.query.CriteriaDefinition;
+import org.springframework.data.cassandra.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * Todos live in two tables: {@code todos}, keyed by id, and {@code todos_by_status} (see
+ * {@link TodoByStatus}), which serves the status and newest-first listings. Every write
+ * changes both in one logged batch, so a failure part-way is retried by Cassandra rather
+ * than leaving the tables out of step.
+ *
+ * Reads run in the {@link CassandraDriverConfig#READS_PROFILE} profile, so a slow replica is
+ * hedged against instead of holding up the request.
+ */
 @Service
 public class TodoService {
 
-    private final TodoRepository todoRepository;
+    public static final int MAX_LIST_SIZE = 500;
 
-    public TodoService(TodoRepository todoRepository) {
-        this.todoRepository = todoRepository;
-    }
+    private static final UpdateOptions UPDATE_IF_EXISTS = UpdateOptions.builder().withIfExists().build();
+    private static final DeleteOptions DELETE_IF_EXISTS = DeleteOptions.builder().withIfExists().build();
+    private static final QueryOptions READS = QueryOptions.builder()
+            .executionProfile(CassandraDriverConfig.READS_PROFILE)
+            .build();
+    // Newest first, by the full 100ns timestamp like Cassandra's timeuuid clustering order, so the
+    // merge agrees with the server-side "id < cursor" even for ids created in the same millisecond
+    private static final Comparator<TodoByStatus> NEWEST_FIRST =
+            Comparator.comparingLong((TodoByStatus row) -> row.getId().timestamp())
+                    .thenComparing(TodoByStatus::getId)
+                    .reversed();
+
+    private final CqlSession session;
+    private final CassandraOperations cassandraOperations;
+    private final PreparedStatement findOne;
+    private final int maxBuckets;
 
-    public List<Todo> findAll() {
-        return todoRepository.findAll();
+    public TodoService(CqlSession session,
+                       CassandraOperations cassandraOperations,
+                       @Value("${todos.by-status.max-buckets:30}") int maxBuckets) {
+        this.session = session;
+        this.cassandraOperations = cassandraOperations;
+        this.maxBuckets = maxBuckets;
+        this.findOne = session.prepare("SELECT " + TodoRows.COLUMNS + " FROM todos WHERE id = ?");
     }
 
     public Todo findById(String id) {
-        return todoRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Todo not found with id: " + id));
+        Row row = session.execute(findOne.bind(id).setExecutionProfileName(CassandraDriverConfig.READS_PROFILE)).one();
+        if (row == null) {
+            throw new NotFoundException("Todo not found with id: " + id);
+        }
+        return TodoRows.map(row);
     }
 
     public Todo create(Todo todo) {
         Todo newTodo = new Todo();
-        newTodo.setId(UUID.randomUUID().toString());
+        newTodo.setId(Uuids.timeBased().toString());
         newTodo.setTitle(todo.getTitle());
         newTodo.setCompleted(todo.isCompleted());
-        return todoRepository.save(newTodo);
+        CassandraBatchOperations batch = cassandraOperations.batchOps().insert(newTodo);
+        writeStatusRow(batch, newTodo);
+        batch.execute();
+        return newTodo;
     }
 
-    public Todo update(String id, Todo updatedTodo) {
+    /**
+     * Writes title and completed without reading the row first. Cassandra UPDATEs are upserts,
+     * so an unknown id creates the todo unless {@code ifExists} is set; that turns the write into
+     * a lightweight transaction (a Paxos round) and rejects unknown ids. Conditional statements
+     * can't share a batch across tables, so in that case the status row follows in a second write.
+     */
+    public Todo update(String id, Todo updatedTodo, boolean ifExists) {
         if (updatedTodo == null) {
             throw new IllegalArgumentException("Updated todo cannot be null");
         }
-        Todo existingTodo = findById(id);
-        existingTodo.setTitle(updatedTodo.getTitle());
-        existingTodo.setCompleted(updatedTodo.isCompleted());
-        return todoRepository.save(existingTodo);
+        Todo todo = new Todo();
+        todo.setId(id);
+        todo.setTitle(updatedTodo.getTitle());
+        todo.setCompleted(updatedTodo.isCompleted());
+
+        CassandraBatchOperations batch = cassandraOperations.batchOps();
+        if (!ifExists) {
+            batch.update(todo);
+        } else if (!cassandraOperations.update(todo, UPDATE_IF_EXISTS).wasApplied()) {
+            throw new NotFoundException("Todo not found with id: " + id);
+        }
+        if (writeStatusRow(batch, todo) || !ifExists) {
+            batch.execute();
+        }
+        return todo;
+    }
+
+    /**
+     * Deletes without a read; deleting an unknown id is a no-op unless {@code ifExists} is set,
+     * which makes it a lightweight transaction that reports unknown ids.
+     */
+    public void delete(String id, boolean ifExists) {
+        Todo todo = new Todo();
+        todo.setId(id);
+
+        CassandraBatchOperations batch = cassandraOperations.batchOps();
+        if (!ifExists) {
+            batch.delete(todo);
+        } else if (!cassandraOperations.delete(todo, DELETE_IF_EXISTS).wasApplied()) {
+            throw new NotFoundException("Todo not found with id: " + id);
+        }
+        TodoByStatus row = TodoByStatus.of(todo);
+        if (row != null) {
+            // The status is unknown without a read, so clear the key in both partitions
+            batch.delete(row, row.withOtherStatus());
+        }
+        if (row != null || !ifExists) {
+            batch.execute();
+        }
+    }
+
+    /**
+     * Todos created before {@code before} (a todo id, exclusive), newest first, optionally only
+     * those with the given status. Reads one partition per status and day, walking back at most
+     * {@code todos.by-status.max-buckets} days from the cursor.
+     */
+    public TodoPage findRecent(Boolean completed, String before, int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_LIST_SIZE);
+        UUID cursor = null;
+        if (before != null && !before.isEmpty()) {
+            cursor = TodoByStatus.timeBasedId(before);
+            if (cursor == null) {
+                throw new IllegalArgumentException("Cursor is not a time-based todo id: " + before);
+            }
+        }
+        List<Boolean> statuses = completed != null ? List.of(completed) : List.of(false, true);
+
+        LocalDate day = cursor != null ? TodoByStatus.bucketOf(cursor) : LocalDate.now(ZoneOffset.UTC);
+        List<TodoByStatus> rows = new ArrayList<>();
+        for (int bucket = 0; bucket < maxBuckets && rows.size() < size; bucket++, day = day.minusDays(1)) {
+            List<TodoByStatus> dayRows = new ArrayList<>();
+            for (Boolean status : statuses) {
+                List<CriteriaDefinition> criteria = new ArrayList<>(3);
+                criteria.add(Criteria.where("completed").is(status));
+                criteria.add(Criteria.where("bucket").is(day));
+                if (cursor != null && bucket == 0) {
+                    criteria.add(Criteria.where("id").lt(cursor));
+                }
+                Query query = Query.query(criteria).queryOptions(READS).limit(size - rows.size());
+                dayRows.addAll(cassandraOperations.select(query, TodoByStatus.class));
+            }
+            dayRows.sort(NEWEST_FIRST);
+            rows.addAll(dayRows.subList(0, Math.min(dayRows.size(), size - rows.size())));
+        }
+
+        List<Todo> items = new ArrayList<>(rows.size());
+        for (TodoByStatus row : rows) {
+            items.add(row.toTodo());
+        }
+        String nextCursor = items.size() < size ? null : items.get(items.size() - 1).getId();
+        return new TodoPage(items, nextCursor);
     }
 
-    public void delete(String id) {
-        Todo existingTodo = findById(id);
-        todoRepository.delete(existingTodo);
+    // Adds the todo's status row, and the removal of its key from the other status, to the batch
+    private static boolean writeStatusRow(CassandraBatchOperations batch, Todo todo) {
+        TodoByStatus row = TodoByStatus.of(todo);
+        if (row == null) {
+            return false;
+        }
+        batch.delete(row.withOtherStatus());
+        batch.insert(row);
+        return true;
     }
 }
@@ -0,0 +1,138 @@
+package com.example.todo;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Requests/sec and server thread usage for GET by id through the blocking endpoints
+ * (/api/todos) and the reactive ones (/api/reactive/todos) of a running app, at the same
+ * number of requests in flight. Server threads are sampled from the actuator while each
+ * run is going: tomcat.threads.busy (servlet threads held by requests) and jvm.threads.live.
+ * Seeded todos are left in the table.
+ *
+ * <pre>
+ * mvn spring-boot:run &amp;
+ * mvn -q test-compile
+ * java -cp target/test-classes com.example.todo.TodoLoadBenchmark [baseUrl] [inFlight] [seconds]
+ * </pre>
+ */
+public class TodoLoadBenchmark {
+
+    private static final int SEED_TODOS = 500;
+    private static final Pattern VALUE = Pattern.compile("\"value\"\\s*:\\s*([0-9.Ee+-]+)");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int inFlight = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        HttpClient client = HttpClient.newHttpClient();
+
+        List<String> ids = seed(client, baseUrl);
+        // Reactive first: idle Tomcat threads left over from the blocking run would inflate its count
+        run(client, baseUrl, "/api/reactive/todos/", "reactive", ids, inFlight, seconds);
+        run(client, baseUrl, "/api/todos/", "blocking", ids, inFlight, seconds);
+    }
+
+    private static List<String> seed(HttpClient client, String baseUrl) throws Exception {
+        List<String> ids = new ArrayList<>(SEED_TODOS);
+        for (int i = 0; i < SEED_TODOS; i++) {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/todos"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"title\": \"load " + i + "\", \"completed\": false}"))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            Matcher id = ID.matcher(response.body());
+            if (!id.find()) {
+                throw new IllegalStateException("Unexpected response: " + response.statusCode() + " " + response.body());
+            }
+            ids.add(id.group(1));
+        }
+        return ids;
+    }
+
+    private static void run(HttpClient client, String baseUrl, String path, String name, List<String> ids,
+                            int inFlight, int seconds) throws Exception {
+        // Warm-up so both modes are measured with a JIT-compiled path
+        drive(client, baseUrl + path, ids, inFlight, TimeUnit.SECONDS.toNanos(3));
+
+        ThreadSampler sampler = new ThreadSampler(client, baseUrl);
+        sampler.start();
+        long started = System.nanoTime();
+        long[] result = drive(client, baseUrl + path, ids, inFlight, TimeUnit.SECONDS.toNanos(seconds));
+        double elapsed = (System.nanoTime() - started) / 1e9;
+        sampler.interrupt();
+        sampler.join();
+
+        System.out.printf("%-9s %9.0f req/s  errors=%d  busy servlet threads max=%.0f  live JVM threads max=%.0f%n",
+                name, result[0] / elapsed, result[1], sampler.maxBusy, sampler.maxLive);
+    }
+
+    private static long[] drive(HttpClient client, String url, List<String> ids, int inFlight, long durationNanos)
+            throws InterruptedException {
+        Semaphore permits = new Semaphore(inFlight);
+        AtomicLong completed = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + durationNanos;
+        while (System.nanoTime() < deadline) {
+            permits.acquire();
+            String id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+            client.sendAsync(HttpRequest.newBuilder(URI.create(url + id)).GET().build(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        if (failure != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        } else {
+                            completed.incrementAndGet();
+                        }
+                        permits.release();
+                    });
+        }
+        permits.acquire(inFlight);
+        return new long[]{completed.get(), errors.get()};
+    }
+
+    private static final class ThreadSampler extends Thread {
+        private final HttpClient client;
+        private final String baseUrl;
+        volatile double maxBusy;
+        volatile double maxLive;
+
+        ThreadSampler(HttpClient client, String baseUrl) {
+            this.client = client;
+            this.baseUrl = baseUrl;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!isInterrupted()) {
+                    maxBusy = Math.max(maxBusy, metric("tomcat.threads.busy"));
+                    maxLive = Math.max(maxLive, metric("jvm.threads.live"));
+                    Thread.sleep(250);
+                }
+            } catch (InterruptedException e) {
+                // Run finished
+            } catch (Exception e) {
+                System.out.println("Could not read server metrics: " + e.getMessage());
+            }
+        }
+
+        private double metric(String name) throws Exception {
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + name)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            Matcher value = VALUE.matcher(response.body());
+            return value.find() ? Double.parseDouble(value.group(1)) : 0;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.todo;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Mutations/sec for the three ways TodoService can change a row, straight through the driver
+ * against a running Cassandra with the todos table:
+ * <ul>
+ *   <li>read-then-write: SELECT by id, then UPDATE (what update/delete used to do)</li>
+ *   <li>blind: a single UPDATE</li>
+ *   <li>IF EXISTS: a single UPDATE as a lightweight transaction</li>
+ * </ul>
+ * Seeded todos are left in the table.
+ *
+ * <pre>
+ * docker-compose up -d
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:$(cat target/cp.txt) com.example.todo.TodoMutationBenchmark [mutations] [inFlight]
+ * </pre>
+ */
+public class TodoMutationBenchmark {
+
+    private static final int SEED_TODOS = 1000;
+
+    public static void main(String[] args) throws Exception {
+        int mutations = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int inFlight = args.length > 1 ? Integer.parseInt(args[1]) : 128;
+
+        try (CqlSession session = CqlSession.builder()
+                .addContactPoint(new InetSocketAddress("127.0.0.1", 9042))
+                .withLocalDatacenter("datacenter1")
+                .withKeyspace("tododb")
+                .build()) {
+            PreparedStatement insert = session.prepare("INSERT INTO todos (id, title, completed) VALUES (?, ?, ?)");
+            PreparedStatement select = session.prepare("SELECT id, title, completed FROM todos WHERE id = ?");
+            PreparedStatement update = session.prepare("UPDATE todos SET title = ?, completed = ? WHERE id = ?");
+            PreparedStatement updateIfExists = session.prepare("UPDATE todos SET title = ?, completed = ? WHERE id = ? IF EXISTS");
+
+            List<String> ids = new ArrayList<>(SEED_TODOS);
+            for (int i = 0; i < SEED_TODOS; i++) {
+                String id = UUID.randomUUID().toString();
+                session.execute(insert.bind(id, "bench " + i, false));
+                ids.add(id);
+            }
+
+            run("read-then-write", mutations, inFlight, i -> {
+                String id = ids.get(i % ids.size());
+                return session.executeAsync(select.bind(id))
+                        .thenCompose(read -> session.executeAsync(update.bind("read " + i, i % 2 == 0, id)));
+            });
+            run("blind", mutations, inFlight, i ->
+                    session.executeAsync(update.bind("blind " + i, i % 2 == 0, ids.get(i % ids.size()))));
+            // Paxos rounds are several times slower; a tenth of the mutations is enough to measure
+            run("IF EXISTS", Math.max(mutations / 10, 1), inFlight, i ->
+                    session.executeAsync(updateIfExists.bind("lwt " + i, i % 2 == 0, ids.get(i % ids.size()))));
+        }
+    }
+
+    private static void run(String name, int mutations, int inFlight, Function<Integer, CompletionStage<?>> mutation)
+            throws InterruptedException {
+        Semaphore permits = new Semaphore(inFlight);
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        for (int i = 0; i < mutations; i++) {
+            permits.acquire();
+            mutation.apply(i).whenComplete((result, failure) -> {
+                if (failure != null) {
+                    errors.incrementAndGet();
+                }
+                permits.release();
+            });
+        }
+        permits.acquire(inFlight);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-16s %,9d mutations  %,10.0f mutations/sec  errors=%d%n",
+                name, mutations, mutations / seconds, errors.get());
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.todo.service;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.uuid.Uuids;
+import com.example.todo.model.Todo;
+import com.example.todo.model.TodoByStatus;
+import com.example.todo.model.TodoPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.cassandra.core.CassandraOperations;
+import org.springframework.data.cassandra.core.query.CriteriaDefinition;
+import org.springframework.data.cassandra.core.query.Query;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link TodoService#findRecent} against an in-memory todos_by_status that answers the
+ * per-partition queries the way Cassandra would: one (completed, bucket) partition, ids
+ * newest first, optionally before the cursor.
+ */
+class TodoServiceTests {
+
+    private final List<TodoByStatus> table = new ArrayList<>();
+    private TodoService todoService;
+
+    @BeforeEach
+    void setUp() {
+        CqlSession session = mock(CqlSession.class);
+        when(session.prepare(anyString())).thenReturn(mock(PreparedStatement.class));
+        CassandraOperations operations = mock(CassandraOperations.class);
+        when(operations.select(any(Query.class), eq(TodoByStatus.class)))
+                .thenAnswer(invocation -> select(invocation.getArgument(0)));
+        todoService = new TodoService(session, operations, 30);
+    }
+
+    @Test
+    void pagesContinueAcrossDaysWithBothStatusesMerged() {
+        long midnight = LocalDate.now(ZoneOffset.UTC).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+        String today3 = insert("today 3", false, midnight + 3_000);
+        String today2 = insert("today 2", true, midnight + 2_000);
+        String today1 = insert("today 1", false, midnight + 1_000);
+        String yesterday3 = insert("yesterday 3", true, midnight - 3_600_000);
+        String yesterday2 = insert("yesterday 2", false, midnight - 7_200_000);
+        String yesterday1 = insert("yesterday 1", true, midnight - 10_800_000);
+
+        TodoPage first = todoService.findRecent(null, null, 4);
+        assertEquals(List.of(today3, today2, today1, yesterday3), ids(first));
+        assertEquals(yesterday3, first.getNextCursor());
+
+        TodoPage second = todoService.findRecent(null, first.getNextCursor(), 4);
+        assertEquals(List.of(yesterday2, yesterday1), ids(second));
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void fullLastPageIsFollowedByAnEmptyOne() {
+        long midnight = LocalDate.now(ZoneOffset.UTC).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+        String newer = insert("newer", true, midnight + 2_000);
+        String older = insert("older", true, midnight - 1_000);
+        insert("open", false, midnight + 1_000);
+
+        TodoPage first = todoService.findRecent(true, null, 2);
+        assertEquals(List.of(newer, older), ids(first));
+        assertNotNull(first.getNextCursor());
+
+        TodoPage second = todoService.findRecent(true, first.getNextCursor(), 2);
+        assertEquals(List.of(), ids(second));
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void idsFromTheSameMillisecondPageInServerOrder() {
+        long millis = LocalDate.now(ZoneOffset.UTC).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli() + 5_000;
+        String older = insert(Uuids.startOf(millis), "first in the millisecond", false);
+        String newer = insert(Uuids.endOf(millis), "last in the millisecond", true);
+        String earlier = insert(Uuids.startOf(millis - 1_000), "a second before", false);
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            TodoPage page = todoService.findRecent(null, cursor, 1);
+            seen.addAll(ids(page));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(newer, older, earlier), seen);
+    }
+
+    @Test
+    void rejectsCursorsThatAreNotTimeBasedIds() {
+        assertThrows(IllegalArgumentException.class,
+                () -> todoService.findRecent(null, UUID.randomUUID().toString(), 10));
+    }
+
+    private String insert(String title, boolean completed, long createdAtMillis) {
+        return insert(Uuids.startOf(createdAtMillis), title, completed);
+    }
+
+    private String insert(UUID id, String title, boolean completed) {
+        Todo todo = new Todo();
+        todo.setId(id.toString());
+        todo.setTitle(title);
+        todo.setCompleted(completed);
+        table.add(TodoByStatus.of(todo));
+        return todo.getId();
+    }
+
+    private List<TodoByStatus> select(Query query) {
+        List<TodoByStatus> rows = new ArrayList<>(table);
+        for (CriteriaDefinition criteria : query.getCriteriaDefinitions()) {
+            String column = criteria.getColumnName().toCql();
+            Object value = criteria.getPredicate().getValue();
+            rows.removeIf(row -> switch (column) {
+                case "completed" -> !value.equals(row.isCompleted());
+                case "bucket" -> !value.equals(row.getBucket());
+                // findRecent only ever asks for ids before the cursor
+                case "id" -> row.getId().timestamp() >= ((UUID) value).timestamp();
+                default -> throw new IllegalArgumentException("Unexpected column " + column);
+            });
+        }
+        // timeuuid clustering order: the full 100ns timestamp, newest first
+        rows.sort(Comparator.comparingLong((TodoByStatus row) -> row.getId().timestamp()).reversed());
+        return rows;
+    }
+
+    private static List<String> ids(TodoPage page) {
+        return page.getItems().stream().map(Todo::getId).toList();
+    }
+}
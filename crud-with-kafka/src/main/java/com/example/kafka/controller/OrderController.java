@@ -3,9 +3,11 @@ package com.example.kafka.controller;
 import com.example.kafka.model.Order;
 import com.example.kafka.service.OrderService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -28,16 +30,21 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
     
+    // With If-None-Match only the version column is read; 304 skips loading and serializing the order
     @GetMapping("/{id}")
-    public ResponseEntity<Order> getOrderById(@PathVariable Long id) {
+    public ResponseEntity<Order> getOrderById(@PathVariable Long id, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(etag(orderService.getOrderVersion(id)))) {
+            return null;
+        }
         Order order = orderService.getOrderById(id);
-        return ResponseEntity.ok(order);
+        return ResponseEntity.ok().eTag(etag(order.getVersion())).body(order);
     }
     
     @PutMapping("/{id}")
     public ResponseEntity<Order> updateOrder(@PathVariable Long id, @RequestBody Order order) {
         Order updatedOrder = orderService.updateOrder(id, order);
-        return ResponseEntity.ok(updatedOrder);
+        return ResponseEntity.ok().eTag(etag(updatedOrder.getVersion())).body(updatedOrder);
     }
     
     @DeleteMapping("/{id}")
@@ -45,4 +52,8 @@ public class OrderController {
         orderService.deleteOrder(id);
         return ResponseEntity.noContent().build();
     }
+    
+    private static String etag(Long version) {
+        return "\"" + version + "\"";
+    }
 }
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -27,6 +28,11 @@ public class Order {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
+    // Bumped on every update; backs the ETag of GET /api/orders/{id}
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -21,6 +21,7 @@ public class OrderService {
     
     public Order createOrder(Order order) {
         System.out.println("💾 Saving order to DATABASE...");
+        order.setVersion(null);
         Order savedOrder = orderRepository.save(order);
         
         // Publish event to Kafka
@@ -51,6 +52,12 @@ public class OrderService {
             .orElseThrow(() -> new RuntimeException("Order not found"));
     }
     
+    // Single-column lookup for ETag checks
+    public Long getOrderVersion(Long id) {
+        return orderRepository.findVersionById(id)
+            .orElseThrow(() -> new RuntimeException("Order not found"));
+    }
+    
     public Order updateOrder(Long id, Order orderDetails) {
         System.out.println("✏️ Updating order " + id + " in DATABASE");
         Order order = getOrderById(id);
@@ -2,8 +2,10 @@ package com.example.postgre;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class PostgreApplication {
     public static void main(String[] args) {
         SpringApplication.run(PostgreApplication.class, args);
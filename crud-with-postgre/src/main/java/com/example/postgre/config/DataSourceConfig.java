@@ -0,0 +1,67 @@
+package com.example.postgre.config;
+
+import com.example.postgre.datasource.ReplicaProperties;
+import com.example.postgre.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(HikariDataSource primaryDataSource,
+                                                      DataSourceProperties primary,
+                                                      ReplicaProperties replicas) {
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        List<ReplicaProperties.Node> nodes = replicas.getNodes();
+        for (int i = 0; i < nodes.size(); i++) {
+            ReplicaProperties.Node node = nodes.get(i);
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(primary.determineDriverClassName())
+                    .url(node.getUrl())
+                    .username(node.getUsername() != null ? node.getUsername() : primary.determineUsername())
+                    .password(node.getPassword() != null ? node.getPassword() : primary.determinePassword())
+                    .build();
+            pool.setPoolName("replica-" + (i + 1));
+            pool.setReadOnly(true);
+            pool.setMaximumPoolSize(replicas.getMaximumPoolSize());
+            pool.setConnectionTimeout(replicas.getConnectionTimeout().toMillis());
+            pools.put(pool.getPoolName(), pool);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, pools, replicas.getLoadBalancing(),
+                replicas.getMaxLag(), replicas.getLagQuery());
+    }
+
+    // The application-wide DataSource. Physical connections are fetched on first use, by which
+    // time a @Transactional(readOnly = true) method has marked the connection read-only, so those
+    // transactions are served by the replicas and everything else by the primary.
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
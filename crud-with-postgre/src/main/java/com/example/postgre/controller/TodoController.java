@@ -1,19 +1,39 @@
 package com.example.postgre.controller;
 
 import com.example.postgre.model.Todo;
+import com.example.postgre.model.TodoPage;
+import com.example.postgre.model.TodoPatch;
+import com.example.postgre.model.TodoSearchPage;
+import com.example.postgre.service.TodoBulkService;
+import com.example.postgre.service.TodoSearchService;
 import com.example.postgre.service.TodoService;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/todos")
 public class TodoController {
     private final TodoService service;
+    private final TodoBulkService bulkService;
+    private final TodoSearchService searchService;
 
-    public TodoController(TodoService service) {
+    public TodoController(TodoService service, TodoBulkService bulkService, TodoSearchService searchService) {
         this.service = service;
+        this.bulkService = bulkService;
+        this.searchService = searchService;
     }
 
     @PostMapping
@@ -21,21 +41,90 @@ public class TodoController {
         return service.create(todo);
     }
 
+    @PostMapping("/batch")
+    public List<Todo> createBatch(@RequestBody List<Todo> todos) throws SQLException, IOException {
+        return bulkService.createAll(todos);
+    }
+
+    @PutMapping("/batch")
+    public Map<String, Integer> updateBatch(@RequestBody List<Todo> todos) {
+        return Map.of("updated", bulkService.updateAll(todos));
+    }
+
+    @PostMapping("/complete")
+    public Map<String, Integer> markCompleted(@RequestBody List<Long> ids) {
+        return Map.of("updated", bulkService.markCompleted(ids));
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<Void> deleteBatch(@RequestBody List<Long> ids) {
+        bulkService.deleteAll(ids);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Map<String, Long> importNdjson(InputStream body) throws SQLException, IOException {
+        return Map.of("imported", bulkService.importNdjson(body));
+    }
+
     @GetMapping
-    public List<Todo> getAll() {
-        return service.getAll();
+    public TodoPage getAll(@RequestParam(required = false) Long after,
+                           @RequestParam(defaultValue = "50") int limit,
+                           @RequestParam(required = false) Boolean completed) {
+        return service.getPage(after, limit, completed);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<TodoSearchPage> search(@RequestParam String q,
+                                                 @RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(defaultValue = "20") int size) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(searchService.search(q, page, size));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(required = false) Boolean completed) {
+        StreamingResponseBody body = out -> service.exportNdjson(completed, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
+    // With If-None-Match only the version column is read; 304 skips loading and serializing the todo
     @GetMapping("/{id}")
-    public ResponseEntity<Todo> getById(@PathVariable Long id) {
+    public ResponseEntity<Todo> getById(@PathVariable Long id, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = service.getVersion(id);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (request.checkNotModified(etag(version.get()))) {
+                return null;
+            }
+        }
         return service.getById(id)
-                .map(ResponseEntity::ok)
+                .map(todo -> ResponseEntity.ok().eTag(etag(todo.getVersion())).body(todo))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PutMapping("/{id}")
-    public Todo update(@PathVariable Long id, @RequestBody Todo todo) {
-        return service.update(id, todo);
+    public ResponseEntity<Todo> update(@PathVariable Long id, @RequestBody Todo todo) {
+        return service.update(id, todo)
+                .map(updated -> ResponseEntity.ok().eTag(etag(updated.getVersion())).body(updated))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<Todo> patch(@PathVariable Long id, @RequestBody TodoPatch patch) {
+        try {
+            return service.patch(id, patch)
+                    .map(updated -> ResponseEntity.ok().eTag(etag(updated.getVersion())).body(updated))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
 
     @DeleteMapping("/{id}")
@@ -43,4 +132,8 @@ public class TodoController {
         service.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static String etag(Long version) {
+        return "\"" + version + "\"";
+    }
 }
@@ -0,0 +1,111 @@
+package com.example.postgre.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas for {@link ReplicaRoutingDataSource}, bound from {@code datasource.replicas.*}.
+ * Driver, username and password default to those of {@code spring.datasource}.
+ */
+@ConfigurationProperties(prefix = "datasource.replicas")
+public class ReplicaProperties {
+
+    /** Replica connection settings; with none configured every read goes to the primary. */
+    private List<Node> nodes = new ArrayList<>();
+
+    private ReplicaRoutingDataSource.LoadBalancing loadBalancing = ReplicaRoutingDataSource.LoadBalancing.ROUND_ROBIN;
+
+    /** Replicas further behind than this are skipped until they catch up. */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /** Returns the replica's lag in seconds. 0 when every received WAL record has been replayed. */
+    private String lagQuery = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    /** Connection pool size per replica. */
+    private int maximumPoolSize = 10;
+
+    /** How long a read waits for a connection from a replica pool before failing. */
+    private Duration connectionTimeout = Duration.ofSeconds(30);
+
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(List<Node> nodes) {
+        this.nodes = nodes;
+    }
+
+    public ReplicaRoutingDataSource.LoadBalancing getLoadBalancing() {
+        return loadBalancing;
+    }
+
+    public void setLoadBalancing(ReplicaRoutingDataSource.LoadBalancing loadBalancing) {
+        this.loadBalancing = loadBalancing;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    public String getLagQuery() {
+        return lagQuery;
+    }
+
+    public void setLagQuery(String lagQuery) {
+        this.lagQuery = lagQuery;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+
+    public Duration getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public void setConnectionTimeout(Duration connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+    }
+
+    public static class Node {
+        private String url;
+        private String username;
+        private String password;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.postgre.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections for read-only transactions. Each call picks one of the replicas that
+ * are reachable and no further behind than {@code maxLag}, using the configured
+ * {@link LoadBalancing} policy; when none qualifies, or the chosen replica refuses the
+ * connection, the primary serves the read instead.
+ *
+ * Replication lag is measured by {@link #checkLag()}. A replica stays out of rotation until it
+ * has passed its first check, and a replica that failed to connect stays out until the next one.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    public enum LoadBalancing {
+        ROUND_ROBIN,
+        RANDOM,
+        LEAST_LAG
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final LoadBalancing loadBalancing;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    LoadBalancing loadBalancing, Duration maxLag, String lagQuery) {
+        this.primary = primary;
+        this.loadBalancing = loadBalancing;
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = select();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the credentials they were configured with");
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.check-interval:PT2S}")
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery(lagQuery)) {
+                double seconds = result.next() ? result.getDouble(1) : 0;
+                replica.updateLag(Duration.ofMillis(Math.round(seconds * 1000)));
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+    }
+
+    /** Name of every replica with its last measured lag, or null if it is currently out of rotation. */
+    public Map<String, Duration> lag() {
+        Map<String, Duration> lag = new LinkedHashMap<>();
+        for (Replica replica : replicas) {
+            lag.put(replica.name, replica.available() ? replica.lag : null);
+        }
+        return lag;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Replica select() {
+        List<Replica> candidates = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            if (replica.available()) {
+                candidates.add(replica);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        return switch (loadBalancing) {
+            case ROUND_ROBIN -> candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+            case RANDOM -> candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+            case LEAST_LAG -> candidates.stream().min(Comparator.comparing(replica -> replica.lag)).orElseThrow();
+        };
+    }
+
+    private final class Replica {
+        final String name;
+        final DataSource dataSource;
+        volatile Duration lag;
+        volatile boolean up;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        boolean available() {
+            return up && lag.compareTo(maxLag) <= 0;
+        }
+
+        void updateLag(Duration measured) {
+            boolean wasAvailable = available();
+            lag = measured;
+            up = true;
+            if (wasAvailable != available()) {
+                System.out.println(wasAvailable
+                        ? "⚠️ Replica " + name + " is " + measured.toMillis() + " ms behind, reads go elsewhere"
+                        : "✅ Replica " + name + " back in rotation (" + measured.toMillis() + " ms behind)");
+            }
+        }
+
+        void markDown(SQLException cause) {
+            if (up) {
+                System.out.println("❌ Replica " + name + " unreachable, reads go elsewhere: " + cause.getMessage());
+            }
+            up = false;
+        }
+    }
+}
@@ -1,16 +1,29 @@
 package com.example.postgre.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
-@Table(name = "todos")
+@Table(name = "todos", indexes = {
+        // Keyset pagination filtered by status walks (completed, id) in order
+        @Index(name = "idx_todos_completed_id", columnList = "completed, id")
+})
 public class Todo {
+    // Must match the sequence's INCREMENT BY; the pooled optimizer hands out this many ids per nextval
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todos_seq")
+    @SequenceGenerator(name = "todos_seq", sequenceName = "todos_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     private String title;
     private Boolean completed;
 
+    // Bumped by every write; existing rows start at 0 when the column is added
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -34,4 +47,12 @@ public class Todo {
     public void setCompleted(Boolean completed) {
         this.completed = completed;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
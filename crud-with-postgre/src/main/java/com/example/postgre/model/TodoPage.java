@@ -0,0 +1,29 @@
+package com.example.postgre.model;
+
+import java.util.List;
+
+public class TodoPage {
+    private List<Todo> items;
+    private Long nextCursor;
+
+    public TodoPage(List<Todo> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Todo> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Todo> items) {
+        this.items = items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
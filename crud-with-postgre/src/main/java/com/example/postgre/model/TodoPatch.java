@@ -0,0 +1,35 @@
+package com.example.postgre.model;
+
+/**
+ * Body of PATCH /api/todos/{id}. Null fields are left unchanged; when {@code version} is set
+ * the update only applies if the row still has that version.
+ */
+public class TodoPatch {
+    private String title;
+    private Boolean completed;
+    private Long version;
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
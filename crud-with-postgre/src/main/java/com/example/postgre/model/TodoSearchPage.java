@@ -0,0 +1,49 @@
+package com.example.postgre.model;
+
+import java.util.List;
+
+public class TodoSearchPage {
+    private List<Todo> items;
+    private int page;
+    private int size;
+    private boolean hasMore;
+
+    public TodoSearchPage(List<Todo> items, int page, int size, boolean hasMore) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.hasMore = hasMore;
+    }
+
+    public List<Todo> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Todo> items) {
+        this.items = items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
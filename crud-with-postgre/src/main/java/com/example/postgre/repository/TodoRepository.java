@@ -1,9 +1,42 @@
 package com.example.postgre.repository;
 
 import com.example.postgre.model.Todo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface TodoRepository extends JpaRepository<Todo, Long> {
+
+    @Modifying
+    @Query("update Todo t set t.completed = true, t.version = t.version + 1 "
+            + "where t.id in :ids and (t.completed = false or t.completed is null)")
+    int markCompleted(@Param("ids") Collection<Long> ids);
+
+    @Query("select t.version from Todo t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    List<Todo> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    List<Todo> findByCompletedAndIdGreaterThanOrderByIdAsc(Boolean completed, Long after, Limit limit);
+
+    // Server-side cursor: rows arrive in fetch-size chunks instead of one materialized result set
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select t from Todo t order by t.id")
+    Stream<Todo> streamAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select t from Todo t where t.completed = :completed order by t.id")
+    Stream<Todo> streamByCompleted(@Param("completed") Boolean completed);
 }
@@ -0,0 +1,156 @@
+package com.example.postgre.service;
+
+import com.example.postgre.model.Todo;
+import com.example.postgre.repository.TodoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Multi-row writes for todos: JDBC-batched inserts and updates, one-statement deletes, and a
+ * PostgreSQL COPY path for large imports. COPY rows get their ids by claiming whole blocks
+ * from todos_seq, the same way Hibernate's pooled optimizer does, so both paths can run side
+ * by side.
+ */
+@Service
+public class TodoBulkService {
+    private static final int IMPORT_CHUNK = 10_000;
+
+    private final TodoRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+
+    @Value("${todos.batch.copy-threshold:5000}")
+    private int copyThreshold;
+
+    public TodoBulkService(TodoRepository repository, JdbcTemplate jdbcTemplate, DataSource dataSource,
+                           ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional
+    public List<Todo> createAll(List<Todo> todos) throws SQLException, IOException {
+        for (Todo todo : todos) {
+            todo.setId(null);
+            todo.setVersion(null);
+        }
+        if (todos.size() >= copyThreshold) {
+            copy(todos);
+            // COPY leaves version to its column default; report it as saveAll would
+            for (Todo todo : todos) {
+                todo.setVersion(0L);
+            }
+            return todos;
+        }
+        return repository.saveAll(todos);
+    }
+
+    @Transactional
+    public int updateAll(List<Todo> todos) {
+        List<Object[]> rows = new ArrayList<>(todos.size());
+        for (Todo todo : todos) {
+            rows.add(new Object[]{todo.getTitle(), todo.getCompleted(), todo.getId()});
+        }
+        int updated = 0;
+        for (int count : jdbcTemplate.batchUpdate("UPDATE todos SET title = ?, completed = ?, version = version + 1 WHERE id = ?", rows)) {
+            // The driver may report SUCCESS_NO_INFO (-2) for rewritten batches
+            updated += Math.max(count, 0);
+        }
+        return updated;
+    }
+
+    // One set-based UPDATE; rows that are already completed are left alone
+    @Transactional
+    public int markCompleted(List<Long> ids) {
+        return ids.isEmpty() ? 0 : repository.markCompleted(ids);
+    }
+
+    @Transactional
+    public void deleteAll(List<Long> ids) {
+        repository.deleteAllByIdInBatch(ids);
+    }
+
+    /**
+     * Reads NDJSON (the format of /api/todos/export) and loads it with COPY in chunks.
+     * Each chunk commits on its own; the return value is the number of rows imported.
+     */
+    public long importNdjson(InputStream in) throws IOException, SQLException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<Todo> chunk = new ArrayList<>(IMPORT_CHUNK);
+        long imported = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(objectMapper.readValue(line, Todo.class));
+            if (chunk.size() == IMPORT_CHUNK) {
+                imported += copy(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += copy(chunk);
+        }
+        return imported;
+    }
+
+    private long copy(List<Todo> todos) throws SQLException, IOException {
+        assignIds(todos);
+
+        StringBuilder csv = new StringBuilder(todos.size() * 32);
+        for (Todo todo : todos) {
+            csv.append(todo.getId()).append(',');
+            if (todo.getTitle() != null) {
+                csv.append('"').append(todo.getTitle().replace("\"", "\"\"")).append('"');
+            }
+            csv.append(',');
+            if (todo.getCompleted() != null) {
+                csv.append(todo.getCompleted());
+            }
+            csv.append('\n');
+        }
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                    "COPY todos (id, title, completed) FROM STDIN WITH (FORMAT csv)",
+                    new StringReader(csv.toString()));
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    // Each nextval claims (value - ALLOCATION_SIZE, value], matching Hibernate's pooled optimizer
+    private void assignIds(List<Todo> todos) {
+        int blocks = (todos.size() + Todo.ID_ALLOCATION_SIZE - 1) / Todo.ID_ALLOCATION_SIZE;
+        List<Long> highs = jdbcTemplate.queryForList(
+                "SELECT nextval('todos_seq') FROM generate_series(1, ?)", Long.class, blocks);
+        int index = 0;
+        for (Long high : highs) {
+            for (long id = high - Todo.ID_ALLOCATION_SIZE + 1; id <= high && index < todos.size(); id++) {
+                todos.get(index++).setId(id);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.postgre.service;
+
+import com.example.postgre.model.Todo;
+import com.example.postgre.model.TodoSearchPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Title search over the trigram index from db/todos-search.sql. Matches are todos whose title
+ * contains the query (case-insensitive), ranked by trigram distance to it, closest first.
+ *
+ * The first {@link #CACHED_RESULTS} ranked matches of recently searched queries are kept in an
+ * LRU map for {@code todos.search.cache-ttl}, so repeated queries (typically short prefixes
+ * typed into a search box) are answered without touching the database. Entries are not
+ * invalidated on writes; results can be that much out of date.
+ */
+@Service
+public class TodoSearchService {
+    public static final int MAX_PAGE_SIZE = 100;
+    // Pages beyond this many results are always read from the database
+    private static final int CACHED_RESULTS = 100;
+
+    private static final String SEARCH_SQL = "SELECT id, title, completed, version FROM todos "
+            + "WHERE title ILIKE ? ORDER BY title <-> ?, id LIMIT ? OFFSET ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration cacheTtl;
+    private final Map<String, CachedResults> cache;
+
+    public TodoSearchService(JdbcTemplate jdbcTemplate,
+                             @Value("${todos.search.cache-size:1000}") int cacheSize,
+                             @Value("${todos.search.cache-ttl:PT30S}") Duration cacheTtl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheTtl = cacheTtl;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResults> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @Transactional(readOnly = true)
+    public TodoSearchPage search(String query, int page, int size) {
+        String normalized = query.trim().toLowerCase(Locale.ROOT);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        int offset = Math.max(page, 0) * pageSize;
+
+        if (offset + pageSize < CACHED_RESULTS) {
+            List<Todo> top = cachedTop(normalized);
+            List<Todo> items = top.subList(Math.min(offset, top.size()), Math.min(offset + pageSize, top.size()));
+            return new TodoSearchPage(items, page, pageSize, top.size() > offset + pageSize);
+        }
+
+        // One extra row tells whether another page exists without counting every match
+        List<Todo> rows = query(normalized, pageSize + 1, offset);
+        boolean hasMore = rows.size() > pageSize;
+        return new TodoSearchPage(hasMore ? rows.subList(0, pageSize) : rows, page, pageSize, hasMore);
+    }
+
+    private List<Todo> cachedTop(String normalized) {
+        long now = System.nanoTime();
+        CachedResults cached;
+        synchronized (cache) {
+            cached = cache.get(normalized);
+        }
+        if (cached != null && cached.expiresAt - now > 0) {
+            return cached.todos;
+        }
+        List<Todo> top = List.copyOf(query(normalized, CACHED_RESULTS, 0));
+        synchronized (cache) {
+            cache.put(normalized, new CachedResults(top, now + cacheTtl.toNanos()));
+        }
+        return top;
+    }
+
+    private List<Todo> query(String normalized, int limit, int offset) {
+        return jdbcTemplate.query(SEARCH_SQL, TodoService.TODO_ROW,
+                "%" + escapeLike(normalized) + "%", normalized, limit, offset);
+    }
+
+    // Backslash is PostgreSQL's default LIKE escape character
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static final class CachedResults {
+        final List<Todo> todos;
+        final long expiresAt;
+
+        CachedResults(List<Todo> todos, long expiresAt) {
+            this.todos = todos;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,35 +1,153 @@
 package com.example.postgre.service;
 
 import com.example.postgre.model.Todo;
+import com.example.postgre.model.TodoPage;
+import com.example.postgre.model.TodoPatch;
 import com.example.postgre.repository.TodoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class TodoService {
+    public static final int MAX_PAGE_SIZE = 500;
+    private static final int EXPORT_FLUSH_EVERY = 1000;
+    static final RowMapper<Todo> TODO_ROW = (rs, rowNum) -> {
+        Todo todo = new Todo();
+        todo.setId(rs.getLong("id"));
+        todo.setTitle(rs.getString("title"));
+        todo.setCompleted((Boolean) rs.getObject("completed"));
+        todo.setVersion(rs.getLong("version"));
+        return todo;
+    };
+
     private final TodoRepository repository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
 
-    public TodoService(TodoRepository repository) {
+    public TodoService(TodoRepository repository, EntityManager entityManager, ObjectMapper objectMapper,
+                       JdbcTemplate jdbcTemplate) {
         this.repository = repository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     public Todo create(Todo todo) {
         return repository.save(todo);
     }
 
-    public List<Todo> getAll() {
-        return repository.findAll();
+    /**
+     * Keyset page: todos with id greater than {@code after}, in id order. The returned cursor is
+     * the last id on the page, or null when there is nothing further to read.
+     */
+    @Transactional(readOnly = true)
+    public TodoPage getPage(Long after, int limit, Boolean completed) {
+        long cursor = after != null ? after : 0L;
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+
+        List<Todo> items = completed == null
+                ? repository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(size))
+                : repository.findByCompletedAndIdGreaterThanOrderByIdAsc(completed, cursor, Limit.of(size));
+
+        Long nextCursor = items.size() < size ? null : items.get(items.size() - 1).getId();
+        return new TodoPage(items, nextCursor);
+    }
+
+    /**
+     * Writes every matching todo as one JSON object per line. Rows are read through a
+     * server-side cursor and detached as soon as they are written, so heap use does not
+     * grow with the table.
+     */
+    @Transactional(readOnly = true)
+    public void exportNdjson(Boolean completed, OutputStream out) throws IOException {
+        try (Stream<Todo> todos = completed == null ? repository.streamAll() : repository.streamByCompleted(completed)) {
+            Iterator<Todo> iterator = todos.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                Todo todo = iterator.next();
+                out.write(objectMapper.writeValueAsBytes(todo));
+                out.write('\n');
+                entityManager.detach(todo);
+                if (++written % EXPORT_FLUSH_EVERY == 0) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        }
     }
 
+    @Transactional(readOnly = true)
     public Optional<Todo> getById(Long id) {
         return repository.findById(id);
     }
 
-    public Todo update(Long id, Todo todo) {
-        todo.setId(id);
-        return repository.save(todo);
+    // Single-column lookup for ETag checks; empty if the todo does not exist
+    @Transactional(readOnly = true)
+    public Optional<Long> getVersion(Long id) {
+        return repository.findVersionById(id);
+    }
+
+    /**
+     * Replaces title and completed in a single UPDATE ... RETURNING; empty if the id does not exist.
+     */
+    public Optional<Todo> update(Long id, Todo todo) {
+        List<Todo> updated = jdbcTemplate.query(
+                "UPDATE todos SET title = ?, completed = ?, version = version + 1 WHERE id = ? "
+                        + "RETURNING id, title, completed, version",
+                TODO_ROW, todo.getTitle(), todo.getCompleted(), id);
+        return updated.stream().findFirst();
+    }
+
+    /**
+     * Writes only the non-null fields of {@code patch} in one statement, without reading the row
+     * first. Throws {@link OptimisticLockingFailureException} when {@code patch.version} no longer
+     * matches; empty if the id does not exist.
+     */
+    public Optional<Todo> patch(Long id, TodoPatch patch) {
+        StringBuilder sql = new StringBuilder("UPDATE todos SET version = version + 1");
+        List<Object> args = new ArrayList<>();
+        if (patch.getTitle() != null) {
+            sql.append(", title = ?");
+            args.add(patch.getTitle());
+        }
+        if (patch.getCompleted() != null) {
+            sql.append(", completed = ?");
+            args.add(patch.getCompleted());
+        }
+        sql.append(" WHERE id = ?");
+        args.add(id);
+        if (patch.getVersion() != null) {
+            sql.append(" AND version = ?");
+            args.add(patch.getVersion());
+        }
+        sql.append(" RETURNING id, title, completed, version");
+
+        List<Todo> updated = jdbcTemplate.query(sql.toString(), TODO_ROW, args.toArray());
+        if (!updated.isEmpty()) {
+            return Optional.of(updated.get(0));
+        }
+        // Only the failure path pays for telling "missing" from "stale". Asked on the primary:
+        // a lagging replica could still report a just-created todo as missing.
+        if (patch.getVersion() != null && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM todos WHERE id = ?)", Boolean.class, id))) {
+            throw new OptimisticLockingFailureException("Todo " + id + " was modified concurrently");
+        }
+        return Optional.empty();
     }
 
     public void delete(Long id) {
@@ -0,0 +1,5 @@
+-- Trigram index behind GET /api/todos/search. GiST rather than GIN: besides answering the
+-- ILIKE filter it can return rows in similarity order (title <-> query), so a ranked page is
+-- read straight off the index instead of sorting every match.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_todos_title_trgm ON todos USING gist (title gist_trgm_ops);
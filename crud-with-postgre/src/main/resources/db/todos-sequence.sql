@@ -0,0 +1,4 @@
+-- Runs after Hibernate's schema update. Moves todos_seq past ids handed out by the old
+-- IDENTITY column (and never backwards), so pooled allocation cannot collide with them.
+CREATE SEQUENCE IF NOT EXISTS todos_seq INCREMENT BY 50;
+SELECT setval('todos_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM todos), (SELECT last_value FROM todos_seq)), true);
@@ -0,0 +1,83 @@
+package com.example.postgre;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * Rows/sec for the three write paths of a running app: one POST /api/todos per row,
+ * POST /api/todos/batch (JDBC batches, chunks below todos.batch.copy-threshold) and
+ * POST /api/todos/import (COPY). Inserted rows are left in the table.
+ *
+ * <pre>
+ * mvn spring-boot:run &amp;
+ * mvn -q test-compile
+ * java -cp target/test-classes com.example.postgre.TodoWriteBenchmark [baseUrl] [rows]
+ * </pre>
+ */
+public class TodoWriteBenchmark {
+
+    private static final int BATCH_CHUNK = 1000;
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8081";
+        int rows = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        HttpClient client = HttpClient.newHttpClient();
+
+        // Single-row path is far slower; measure it on a tenth of the rows
+        int singleRows = Math.max(rows / 10, 1);
+        long start = System.nanoTime();
+        for (int i = 0; i < singleRows; i++) {
+            send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/api/todos"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(todoJson("single", i)))
+                    .build());
+        }
+        report("single-row POST", singleRows, start);
+
+        start = System.nanoTime();
+        for (int from = 0; from < rows; from += BATCH_CHUNK) {
+            StringBuilder body = new StringBuilder("[");
+            for (int i = from; i < Math.min(from + BATCH_CHUNK, rows); i++) {
+                if (i > from) {
+                    body.append(',');
+                }
+                body.append(todoJson("batch", i));
+            }
+            body.append(']');
+            send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/api/todos/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                    .build());
+        }
+        report("batch POST (JDBC)", rows, start);
+
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            ndjson.append(todoJson("copy", i)).append('\n');
+        }
+        start = System.nanoTime();
+        send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/api/todos/import"))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(ndjson.toString()))
+                .build());
+        report("NDJSON import (COPY)", rows, start);
+    }
+
+    private static String todoJson(String prefix, int i) {
+        return "{\"title\":\"" + prefix + " todo " + i + "\",\"completed\":" + (i % 2 == 0) + "}";
+    }
+
+    private static void send(HttpClient client, HttpRequest request) throws Exception {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(request.uri() + " -> " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    private static void report(String path, int rows, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("%-22s %8d rows %8.2f s %12.0f rows/sec%n", path, rows, seconds, rows / seconds);
+    }
+}
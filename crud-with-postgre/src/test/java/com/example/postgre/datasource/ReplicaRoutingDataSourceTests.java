@@ -0,0 +1,140 @@
+package com.example.postgre.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * The read/write split the app is wired with (see DataSourceConfig), against two embedded H2
+ * databases standing in for the primary and a replica. Each database reports its own name and
+ * a settable lag, so no PostgreSQL or replication setup is needed.
+ */
+class ReplicaRoutingDataSourceTests {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replicaDatabase;
+    private Unplugged replica;
+    private ReplicaRoutingDataSource replicas;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replicaDatabase = database("replica");
+        replica = new Unplugged(replicaDatabase);
+        replicas = new ReplicaRoutingDataSource(primary, Map.of("replica-1", replica),
+                ReplicaRoutingDataSource.LoadBalancing.ROUND_ROBIN, Duration.ofSeconds(5),
+                "SELECT seconds FROM replica_lag");
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(replicas);
+
+        jdbc = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        replicaDatabase.shutdown();
+        primary.shutdown();
+    }
+
+    @Test
+    void writesGoToThePrimary() {
+        replicas.checkLag();
+        assertEquals("primary", jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    void readsWaitForTheFirstLagCheck() {
+        assertEquals("primary", read());
+        assertNull(replicas.lag().get("replica-1"));
+
+        replicas.checkLag();
+        assertEquals("replica", read());
+        assertEquals(Duration.ZERO, replicas.lag().get("replica-1"));
+    }
+
+    @Test
+    void laggingReplicaIsSkippedUntilItCatchesUp() {
+        replicas.checkLag();
+        setLag(30);
+        replicas.checkLag();
+        assertEquals("primary", read());
+
+        setLag(0.2);
+        replicas.checkLag();
+        assertEquals("replica", read());
+        assertEquals(Duration.ofMillis(200), replicas.lag().get("replica-1"));
+    }
+
+    @Test
+    void unreachableReplicaFailsOverToThePrimary() {
+        replicas.checkLag();
+        replica.down = true;
+        assertEquals("primary", read());
+
+        replicas.checkLag();
+        assertEquals("primary", read());
+        assertNull(replicas.lag().get("replica-1"));
+
+        replica.down = false;
+        replicas.checkLag();
+        assertEquals("replica", read());
+    }
+
+    private String read() {
+        return readOnly.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private void setLag(double seconds) {
+        new JdbcTemplate(replicaDatabase).update("UPDATE replica_lag SET seconds = ?", seconds);
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name)
+                .build();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(32))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        jdbc.execute("CREATE TABLE replica_lag (seconds DOUBLE PRECISION)");
+        jdbc.update("INSERT INTO replica_lag VALUES (0)");
+        return database;
+    }
+
+    // Refuses connections while down, like a replica that has gone away
+    private static class Unplugged extends DelegatingDataSource {
+        volatile boolean down;
+
+        Unplugged(EmbeddedDatabase target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            return super.getConnection();
+        }
+    }
+}
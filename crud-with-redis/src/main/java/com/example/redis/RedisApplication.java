@@ -1,38 +1,37 @@
 package com.example.redis;
 
-import com.example.redis.model.Product;
-import com.example.redis.repository.ProductRepository;
+import com.example.redis.service.ProductSeeder;
+import com.example.redis.service.ProductService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableCaching
+@EnableScheduling
 public class RedisApplication {
     public static void main(String[] args) {
         SpringApplication.run(RedisApplication.class, args);
     }
 
+    // Runners finish before ApplicationReadyEvent, so the app only reports ready once the cache is warm.
+    // Instances added to an already seeded deployment can skip both with seed.enabled=false and
+    // cache.warm-up-count=0; the table, index and cache in Redis are shared.
     @Bean
-    CommandLineRunner initDatabase(ProductRepository repository) {
+    CommandLineRunner initDatabase(ProductSeeder seeder, ProductService productService,
+                                   @Value("${seed.enabled:true}") boolean seedEnabled,
+                                   @Value("${cache.warm-up-count:1000}") int warmUpCount) {
         return args -> {
-            long currentCount = repository.count();
-            if (currentCount < 100) {
-                System.out.println("🚀 Inserting " + (100 - currentCount) + " more products...");
-                for (int i = 1; i <= 100; i++) {
-                    Product product = new Product();
-                    product.setName("Product " + i);
-                    product.setDescription("Description for product " + i);
-                    product.setPrice(100.0 + (i * 10));
-                    product.setQuantity(10 + i);
-                    repository.save(product);
-                }
-                System.out.println("✅ Total products: " + repository.count());
-            } else {
-                System.out.println("ℹ️ Database already has " + repository.count() + " products");
+            if (seedEnabled) {
+                seeder.seed();
+                // Seeding bypasses ProductService, so bring the listing index in line with the table
+                productService.rebuildIndex();
             }
+            productService.warmUp(warmUpCount);
         };
     }
 }
@@ -0,0 +1,209 @@
+package com.example.redis.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Picks a TTL per cache entry from how often this instance has seen the key read and updated
+ * during the recent windows:
+ * <ul>
+ *   <li>fewer than {@code cache.ttl.cold-reads} reads - {@code cache.ttl.min}</li>
+ *   <li>otherwise the cache's base TTL, multiplied by {@code 1 + log2(reads / coldReads)}</li>
+ *   <li>then divided by {@code 1 + updates}, so keys that change often don't keep stale copies long</li>
+ * </ul>
+ * The result is clamped to [min, max]. Counts are halved every {@code cache.ttl.window}. Keys
+ * this instance has no counts for get the base TTL.
+ *
+ * A key usually turns hot after it was written with a short TTL, so hits also re-check it: once
+ * the policy's TTL has grown to {@value #REFRESH_GROWTH} times the one last applied, the entry's
+ * expiry is pushed out with EXPIRE. The TTL grows with the log of the read count, so a key is
+ * refreshed a handful of times rather than on every hit. Applied TTLs are only known for entries
+ * this instance wrote; for others the base TTL is assumed.
+ */
+@Component
+public class AdaptiveTtlPolicy {
+
+    static final double REFRESH_GROWTH = 1.5;
+
+    private final CacheTtlProperties properties;
+    private final Duration defaultBase;
+    private final StringRedisTemplate redisTemplate;
+    private final Map<String, KeyStats> stats = new ConcurrentHashMap<>();
+
+    public AdaptiveTtlPolicy(CacheTtlProperties properties,
+                             @Value("${spring.cache.redis.time-to-live:10m}") Duration defaultBase,
+                             StringRedisTemplate redisTemplate) {
+        this.properties = properties;
+        this.defaultBase = defaultBase;
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * TTL function for one cache, for use with {@code RedisCacheConfiguration.entryTtl}.
+     */
+    public RedisCacheWriter.TtlFunction forCache(String cacheName) {
+        return (key, value) -> ttlForWrite(cacheName, key);
+    }
+
+    /**
+     * The TTL to write the entry with now; remembered so later hits can tell when it has grown.
+     */
+    public Duration ttlForWrite(String cacheName, Object key) {
+        Duration ttl = ttl(cacheName, key);
+        KeyStats keyStats = stats.get(statsKey(cacheName, key));
+        if (keyStats != null) {
+            keyStats.appliedTtlMillis.set(ttl.toMillis());
+        }
+        return ttl;
+    }
+
+    /**
+     * Called on a cache hit: extends the entry's expiry if its key has become hot enough.
+     */
+    public void refreshOnHit(String cacheName, Object key) {
+        Duration extended = extendedTtl(cacheName, key);
+        if (extended != null) {
+            redisTemplate.expire(statsKey(cacheName, key), extended);
+        }
+    }
+
+    /**
+     * {@link #refreshOnHit} for a multi-key read, with any EXPIREs sent in one pipeline.
+     */
+    public void refreshOnHits(String cacheName, Collection<?> keys) {
+        List<byte[]> redisKeys = new ArrayList<>();
+        List<Duration> ttls = new ArrayList<>();
+        for (Object key : keys) {
+            Duration extended = extendedTtl(cacheName, key);
+            if (extended != null) {
+                redisKeys.add(statsKey(cacheName, key).getBytes(StandardCharsets.UTF_8));
+                ttls.add(extended);
+            }
+        }
+        if (redisKeys.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < redisKeys.size(); i++) {
+                connection.keyCommands().pExpire(redisKeys.get(i), ttls.get(i).toMillis());
+            }
+            return null;
+        });
+    }
+
+    public void recordRead(String cacheName, Object key) {
+        KeyStats keyStats = statsFor(cacheName, key);
+        if (keyStats != null) {
+            keyStats.reads.incrementAndGet();
+        }
+    }
+
+    public void recordUpdate(String cacheName, Object key) {
+        KeyStats keyStats = statsFor(cacheName, key);
+        if (keyStats != null) {
+            keyStats.updates.incrementAndGet();
+        }
+    }
+
+    public Duration ttl(String cacheName, Object key) {
+        Duration base = baseTtl(cacheName);
+        if (!properties.isAdaptive()) {
+            return base;
+        }
+        KeyStats keyStats = stats.get(statsKey(cacheName, key));
+        if (keyStats == null) {
+            // Never read here, or the table is full: no evidence either way
+            return base;
+        }
+
+        long reads = keyStats.reads.get();
+        long coldReads = Math.max(properties.getColdReads(), 1);
+        if (reads < coldReads) {
+            return properties.getMin();
+        }
+
+        double factor = 1 + Math.log((double) reads / coldReads) / Math.log(2);
+        factor /= 1 + keyStats.updates.get();
+        long millis = (long) (base.toMillis() * factor);
+        long clamped = Math.max(properties.getMin().toMillis(), Math.min(properties.getMax().toMillis(), millis));
+        return Duration.ofMillis(clamped);
+    }
+
+    public Duration defaultTtl() {
+        return defaultBase;
+    }
+
+    public Duration baseTtl(String cacheName) {
+        return properties.getBase().getOrDefault(cacheName, defaultBase);
+    }
+
+    public int trackedKeys() {
+        return stats.size();
+    }
+
+    @Scheduled(fixedDelayString = "${cache.ttl.window:PT5M}")
+    public void decay() {
+        Iterator<KeyStats> iterator = stats.values().iterator();
+        while (iterator.hasNext()) {
+            KeyStats keyStats = iterator.next();
+            long reads = keyStats.reads.updateAndGet(n -> n / 2);
+            long updates = keyStats.updates.updateAndGet(n -> n / 2);
+            if (reads == 0 && updates == 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    // The policy's TTL for the key if it has grown enough past the one last applied, else null
+    private Duration extendedTtl(String cacheName, Object key) {
+        if (!properties.isAdaptive()) {
+            return null;
+        }
+        KeyStats keyStats = stats.get(statsKey(cacheName, key));
+        if (keyStats == null) {
+            return null;
+        }
+        long target = ttl(cacheName, key).toMillis();
+        long applied = keyStats.appliedTtlMillis.get();
+        long known = applied > 0 ? applied : baseTtl(cacheName).toMillis();
+        if (target < known * REFRESH_GROWTH || !keyStats.appliedTtlMillis.compareAndSet(applied, target)) {
+            return null;
+        }
+        return Duration.ofMillis(target);
+    }
+
+    private KeyStats statsFor(String cacheName, Object key) {
+        String statsKey = statsKey(cacheName, key);
+        KeyStats keyStats = stats.get(statsKey);
+        if (keyStats == null && stats.size() < properties.getMaxTrackedKeys()) {
+            keyStats = stats.computeIfAbsent(statsKey, k -> new KeyStats());
+        }
+        return keyStats;
+    }
+
+    // Same layout as the Redis key RedisCacheManager stores the entry under: "<cacheName>::<key>"
+    private static String statsKey(String cacheName, Object key) {
+        return cacheName + "::" + key;
+    }
+
+    private static class KeyStats {
+        private final AtomicLong reads = new AtomicLong();
+        private final AtomicLong updates = new AtomicLong();
+        // TTL this instance last wrote the entry with; 0 when unknown
+        private final AtomicLong appliedTtlMillis = new AtomicLong();
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.redis.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Per-cache meters, all tagged with {@code cache=<name>}:
+ * <ul>
+ *   <li>{@code app.cache.gets{result=hit|miss}}, {@code app.cache.puts}, {@code app.cache.evictions}</li>
+ *   <li>{@code app.cache.load} - time spent loading misses from the database</li>
+ *   <li>{@code app.cache.redis{operation}} - Redis round-trips made on behalf of the cache</li>
+ *   <li>{@code app.cache.payload{direction=write|read}} - serialized value size in bytes</li>
+ * </ul>
+ */
+@Component
+public class CacheMetrics {
+
+    private static final String GETS = "app.cache.gets";
+    private static final String PUTS = "app.cache.puts";
+    private static final String EVICTIONS = "app.cache.evictions";
+    private static final String LOAD = "app.cache.load";
+    private static final String REDIS = "app.cache.redis";
+    private static final String PAYLOAD = "app.cache.payload";
+
+    private final MeterRegistry registry;
+    private final Set<String> cacheNames = ConcurrentHashMap.newKeySet();
+
+    public CacheMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void hits(String cache, int count) {
+        counter(GETS, cache, "result", "hit").increment(count);
+    }
+
+    public void misses(String cache, int count) {
+        counter(GETS, cache, "result", "miss").increment(count);
+    }
+
+    public void puts(String cache, int count) {
+        counter(PUTS, cache).increment(count);
+    }
+
+    public void eviction(String cache) {
+        counter(EVICTIONS, cache).increment();
+    }
+
+    public <T> T load(String cache, Supplier<T> loader) {
+        return timer(LOAD, cache).record(loader);
+    }
+
+    public <T> T loadCallable(String cache, Callable<T> loader) throws Exception {
+        return timer(LOAD, cache).recordCallable(loader);
+    }
+
+    public <T> T redis(String cache, String operation, Supplier<T> command) {
+        return timer(REDIS, cache, "operation", operation).record(command);
+    }
+
+    public void redisRun(String cache, String operation, Runnable command) {
+        timer(REDIS, cache, "operation", operation).record(command);
+    }
+
+    public void payload(String cache, String direction, int bytes) {
+        DistributionSummary.builder(PAYLOAD)
+                .baseUnit("bytes")
+                .tags("cache", cache, "direction", direction)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry)
+                .record(bytes);
+        cacheNames.add(cache);
+    }
+
+    public Set<String> cacheNames() {
+        return cacheNames;
+    }
+
+    public Map<String, Object> snapshot(String cache) {
+        double hits = count(GETS, cache, "hit");
+        double misses = count(GETS, cache, "miss");
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", (long) hits);
+        stats.put("misses", (long) misses);
+        stats.put("hitRatio", hits + misses == 0 ? 0.0 : hits / (hits + misses));
+        stats.put("puts", (long) count(PUTS, cache, null));
+        stats.put("evictions", (long) count(EVICTIONS, cache, null));
+
+        Timer load = registry.find(LOAD).tag("cache", cache).timer();
+        stats.put("loadLatency", load != null ? summarize(load.takeSnapshot()) : Map.of());
+
+        Map<String, Object> redis = new LinkedHashMap<>();
+        for (Timer timer : registry.find(REDIS).tag("cache", cache).timers()) {
+            redis.put(timer.getId().getTag("operation"), summarize(timer.takeSnapshot()));
+        }
+        stats.put("redisLatency", redis);
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        for (DistributionSummary summary : registry.find(PAYLOAD).tag("cache", cache).summaries()) {
+            HistogramSnapshot snapshot = summary.takeSnapshot();
+            Map<String, Object> sizes = new LinkedHashMap<>();
+            sizes.put("count", snapshot.count());
+            sizes.put("meanBytes", snapshot.mean());
+            sizes.put("maxBytes", snapshot.max());
+            for (ValueAtPercentile value : snapshot.percentileValues()) {
+                sizes.put("p" + Math.round(value.percentile() * 100) + "Bytes", value.value());
+            }
+            payload.put(summary.getId().getTag("direction"), sizes);
+        }
+        stats.put("payloadSize", payload);
+        return stats;
+    }
+
+    private Counter counter(String name, String cache, String... tags) {
+        cacheNames.add(cache);
+        return Counter.builder(name)
+                .tag("cache", cache)
+                .tags(tags)
+                .register(registry);
+    }
+
+    private Timer timer(String name, String cache, String... tags) {
+        cacheNames.add(cache);
+        return Timer.builder(name)
+                .tag("cache", cache)
+                .tags(tags)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private double count(String name, String cache, String result) {
+        var search = registry.find(name).tag("cache", cache);
+        if (result != null) {
+            search = search.tag("result", result);
+        }
+        Counter counter = search.counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private static Map<String, Object> summarize(HistogramSnapshot snapshot) {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("count", snapshot.count());
+        latency.put("meanMs", snapshot.mean(TimeUnit.MILLISECONDS));
+        latency.put("maxMs", snapshot.max(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            latency.put("p" + Math.round(value.percentile() * 100) + "Ms", value.value(TimeUnit.MILLISECONDS));
+        }
+        return latency;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.redis.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * {@code GET /actuator/cachestats} - hit/miss/put/eviction counts, load and Redis latency,
+ * payload sizes and the top sampled keys for every cache; {@code /actuator/cachestats/{name}}
+ * for a single cache.
+ */
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatsEndpoint {
+
+    private static final int TOP_KEYS = 10;
+
+    private final CacheMetrics metrics;
+    private final HotKeyTracker hotKeyTracker;
+
+    public CacheStatsEndpoint(CacheMetrics metrics, HotKeyTracker hotKeyTracker) {
+        this.metrics = metrics;
+        this.hotKeyTracker = hotKeyTracker;
+    }
+
+    @ReadOperation
+    public Map<String, Object> caches() {
+        Map<String, Object> caches = new LinkedHashMap<>();
+        for (String name : new TreeSet<>(metrics.cacheNames())) {
+            caches.put(name, cache(name));
+        }
+        return caches;
+    }
+
+    @ReadOperation
+    public Map<String, Object> cache(@Selector String name) {
+        Map<String, Object> stats = metrics.snapshot(name);
+        stats.put("hotKeys", hotKeyTracker.top(name, TOP_KEYS));
+        return stats;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.redis.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings for {@link AdaptiveTtlPolicy}, bound from {@code cache.ttl.*}.
+ */
+@ConfigurationProperties(prefix = "cache.ttl")
+public class CacheTtlProperties {
+
+    /** When false every entry gets its cache's base TTL. */
+    private boolean adaptive = true;
+
+    /** TTL for cold keys and lower bound for everything else. */
+    private Duration min = Duration.ofMinutes(1);
+
+    /** Upper bound for hot, rarely-changing keys. */
+    private Duration max = Duration.ofHours(2);
+
+    /** Reads per window below which a key counts as cold. */
+    private long coldReads = 2;
+
+    /** Access counts are halved once per window. */
+    private Duration window = Duration.ofMinutes(5);
+
+    /** Keys beyond this many are not tracked and get the base TTL. */
+    private int maxTrackedKeys = 100_000;
+
+    /** Per-cache base TTL; caches not listed use spring.cache.redis.time-to-live. */
+    private Map<String, Duration> base = new HashMap<>();
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    public void setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    public Duration getMin() {
+        return min;
+    }
+
+    public void setMin(Duration min) {
+        this.min = min;
+    }
+
+    public Duration getMax() {
+        return max;
+    }
+
+    public void setMax(Duration max) {
+        this.max = max;
+    }
+
+    public long getColdReads() {
+        return coldReads;
+    }
+
+    public void setColdReads(long coldReads) {
+        this.coldReads = coldReads;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public int getMaxTrackedKeys() {
+        return maxTrackedKeys;
+    }
+
+    public void setMaxTrackedKeys(int maxTrackedKeys) {
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+
+    public Map<String, Duration> getBase() {
+        return base;
+    }
+
+    public void setBase(Map<String, Duration> base) {
+        this.base = base;
+    }
+}
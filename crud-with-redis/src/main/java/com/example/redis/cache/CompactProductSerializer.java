@@ -0,0 +1,201 @@
+package com.example.redis.cache;
+
+import com.example.redis.model.Product;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Binary cache value format for {@link Product}: no class names or field names, just a
+ * header and the field values. Anything that is not a Product (e.g. cached nulls) is handed
+ * to the delegate, and so are values that don't start with the magic byte, which lets
+ * entries written by the JSON serializer keep working after a switch.
+ *
+ * <pre>
+ * [magic 0xCB][version][flags][body]        flags bit 0 = body is deflated
+ * body v1: [presence bitmask][id long][name][description][price double][quantity int][row version long]
+ * </pre>
+ * Strings are a varint byte length followed by UTF-8. Absent fields are not written, and new
+ * fields only ever go at the end, so readers that don't know a bit can stop before its value.
+ * Values with an unknown version deserialize to null, which the cache treats as a miss.
+ */
+public class CompactProductSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xCB;
+    static final byte VERSION = 1;
+    private static final byte FLAG_COMPRESSED = 0x01;
+
+    private static final int HAS_ID = 1;
+    private static final int HAS_NAME = 1 << 1;
+    private static final int HAS_DESCRIPTION = 1 << 2;
+    private static final int HAS_PRICE = 1 << 3;
+    private static final int HAS_QUANTITY = 1 << 4;
+    private static final int HAS_ROW_VERSION = 1 << 5;
+
+    private final RedisSerializer<Object> delegate;
+    private final int compressionThreshold;
+
+    /**
+     * @param compressionThreshold bodies of at least this many bytes are deflated; 0 or less disables compression
+     */
+    public CompactProductSerializer(RedisSerializer<Object> delegate, int compressionThreshold) {
+        this.delegate = delegate;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (!(value instanceof Product product)) {
+            return delegate.serialize(value);
+        }
+        try {
+            byte[] body = writeBody(product);
+            byte flags = 0;
+            if (compressionThreshold > 0 && body.length >= compressionThreshold) {
+                byte[] deflated = deflate(body);
+                if (deflated.length < body.length) {
+                    body = deflated;
+                    flags |= FLAG_COMPRESSED;
+                }
+            }
+            byte[] out = new byte[body.length + 3];
+            out[0] = MAGIC;
+            out[1] = VERSION;
+            out[2] = flags;
+            System.arraycopy(body, 0, out, 3, body.length);
+            return out;
+        } catch (IOException e) {
+            throw new SerializationException("Could not write product", e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return delegate.deserialize(bytes);
+        }
+        if (bytes.length < 3 || bytes[1] != VERSION) {
+            return null;
+        }
+        try {
+            byte[] body = new byte[bytes.length - 3];
+            System.arraycopy(bytes, 3, body, 0, body.length);
+            if ((bytes[2] & FLAG_COMPRESSED) != 0) {
+                body = inflate(body);
+            }
+            return readBody(body);
+        } catch (IOException | DataFormatException e) {
+            throw new SerializationException("Could not read product", e);
+        }
+    }
+
+    private static byte[] writeBody(Product product) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(buffer);
+
+        int presence = 0;
+        if (product.getId() != null) presence |= HAS_ID;
+        if (product.getName() != null) presence |= HAS_NAME;
+        if (product.getDescription() != null) presence |= HAS_DESCRIPTION;
+        if (product.getPrice() != null) presence |= HAS_PRICE;
+        if (product.getQuantity() != null) presence |= HAS_QUANTITY;
+        if (product.getVersion() != null) presence |= HAS_ROW_VERSION;
+        out.writeByte(presence);
+
+        if (product.getId() != null) out.writeLong(product.getId());
+        if (product.getName() != null) writeString(out, product.getName());
+        if (product.getDescription() != null) writeString(out, product.getDescription());
+        if (product.getPrice() != null) out.writeDouble(product.getPrice());
+        if (product.getQuantity() != null) out.writeInt(product.getQuantity());
+        if (product.getVersion() != null) out.writeLong(product.getVersion());
+
+        out.flush();
+        return buffer.toByteArray();
+    }
+
+    private static Product readBody(byte[] body) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        int presence = in.readUnsignedByte();
+
+        Product product = new Product();
+        if ((presence & HAS_ID) != 0) product.setId(in.readLong());
+        if ((presence & HAS_NAME) != 0) product.setName(readString(in));
+        if ((presence & HAS_DESCRIPTION) != 0) product.setDescription(readString(in));
+        if ((presence & HAS_PRICE) != 0) product.setPrice(in.readDouble());
+        if ((presence & HAS_QUANTITY) != 0) product.setQuantity(in.readInt());
+        if ((presence & HAS_ROW_VERSION) != 0) product.setVersion(in.readLong());
+        return product;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        int length = utf8.length;
+        while ((length & ~0x7F) != 0) {
+            out.writeByte((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        out.writeByte(length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length);
+            byte[] chunk = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 2);
+            byte[] chunk = new byte[1024];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(chunk);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated compressed product");
+                }
+                out.write(chunk, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.redis.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sampled access counts per cache key, kept in a Redis sorted set ("{cacheName}:hot") so all
+ * instances share one ranking. Only a fraction of reads is recorded; reported hit estimates are
+ * scaled back up by the sample rate. Scores are halved periodically so the ranking follows
+ * current traffic, and the set is trimmed to a fixed capacity.
+ */
+@Component
+public class HotKeyTracker {
+
+    private final StringRedisTemplate redisTemplate;
+    private final Set<String> trackedCaches = ConcurrentHashMap.newKeySet();
+
+    @Value("${cache.hot-keys.sample-rate:0.1}")
+    private double sampleRate;
+
+    @Value("${cache.hot-keys.capacity:10000}")
+    private int capacity;
+
+    public HotKeyTracker(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public static String hotKey(String cacheName) {
+        return cacheName + ":hot";
+    }
+
+    public void record(String cacheName, Object key) {
+        if (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        trackedCaches.add(cacheName);
+        redisTemplate.opsForZSet().incrementScore(hotKey(cacheName), String.valueOf(key), 1);
+    }
+
+    /**
+     * Records a multi-key read. The batch is sampled as a whole, at the same rate as single
+     * reads, and a sampled batch sends all its increments in one pipeline.
+     */
+    public void recordAll(String cacheName, Collection<?> keys) {
+        if (keys.isEmpty() || sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        trackedCaches.add(cacheName);
+        byte[] hotKey = hotKey(cacheName).getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Object key : keys) {
+                connection.zSetCommands().zIncrBy(hotKey, 1, String.valueOf(key).getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+    }
+
+    // Keys of the cache, most read first
+    public Set<String> topKeys(String cacheName, int count) {
+        return redisTemplate.opsForZSet().reverseRange(hotKey(cacheName), 0, count - 1);
+    }
+
+    public List<Map<String, Object>> top(String cacheName, int count) {
+        Set<TypedTuple<String>> entries = redisTemplate.opsForZSet()
+                .reverseRangeWithScores(hotKey(cacheName), 0, count - 1);
+        List<Map<String, Object>> top = new ArrayList<>();
+        if (entries != null) {
+            for (TypedTuple<String> entry : entries) {
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("key", entry.getValue());
+                item.put("estimatedHits", Math.round(entry.getScore() / sampleRate));
+                top.add(item);
+            }
+        }
+        return top;
+    }
+
+    @Scheduled(fixedDelayString = "${cache.hot-keys.decay-interval-ms:3600000}")
+    public void decay() {
+        for (String cacheName : trackedCaches) {
+            String key = hotKey(cacheName);
+            redisTemplate.opsForZSet().unionAndStore(key, List.of(), key, Aggregate.SUM, Weights.of(0.5));
+            redisTemplate.opsForZSet().removeRange(key, 0, -(capacity + 1L));
+        }
+    }
+}
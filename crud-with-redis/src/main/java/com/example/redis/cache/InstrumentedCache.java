@@ -0,0 +1,137 @@
+package com.example.redis.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Wraps a cache so every lookup, write and eviction made through Spring's cache abstraction
+ * shows up in {@link CacheMetrics}; reads also feed the {@link HotKeyTracker} and the
+ * access counts behind {@link AdaptiveTtlPolicy}, and hits let the policy extend the entry's TTL.
+ */
+public class InstrumentedCache implements Cache {
+
+    private final Cache delegate;
+    private final CacheMetrics metrics;
+    private final HotKeyTracker hotKeyTracker;
+    private final AdaptiveTtlPolicy ttlPolicy;
+
+    public InstrumentedCache(Cache delegate, CacheMetrics metrics, HotKeyTracker hotKeyTracker,
+                             AdaptiveTtlPolicy ttlPolicy) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.hotKeyTracker = hotKeyTracker;
+        this.ttlPolicy = ttlPolicy;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        recordRead(key);
+        ValueWrapper value = metrics.redis(getName(), "get", () -> delegate.get(key));
+        recordLookup(key, value != null);
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        recordRead(key);
+        T value = metrics.redis(getName(), "get", () -> delegate.get(key, type));
+        recordLookup(key, value != null);
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        recordRead(key);
+        AtomicBoolean loaded = new AtomicBoolean();
+        T value = delegate.get(key, () -> {
+            loaded.set(true);
+            return metrics.loadCallable(getName(), valueLoader);
+        });
+        recordLookup(key, !loaded.get());
+        if (loaded.get()) {
+            metrics.puts(getName(), 1);
+        }
+        return value;
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        metrics.redisRun(getName(), "put", () -> delegate.put(key, value));
+        metrics.puts(getName(), 1);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = metrics.redis(getName(), "putIfAbsent", () -> delegate.putIfAbsent(key, value));
+        if (existing == null) {
+            metrics.puts(getName(), 1);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        metrics.redisRun(getName(), "evict", () -> delegate.evict(key));
+        metrics.eviction(getName());
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = metrics.redis(getName(), "evict", () -> delegate.evictIfPresent(key));
+        if (evicted) {
+            metrics.eviction(getName());
+        }
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        metrics.redisRun(getName(), "clear", delegate::clear);
+        metrics.eviction(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = metrics.redis(getName(), "clear", delegate::invalidate);
+        metrics.eviction(getName());
+        return invalidated;
+    }
+
+    private void recordRead(Object key) {
+        hotKeyTracker.record(getName(), key);
+        ttlPolicy.recordRead(getName(), key);
+    }
+
+    private void recordLookup(Object key, boolean hit) {
+        if (hit) {
+            metrics.hits(getName(), 1);
+            ttlPolicy.refreshOnHit(getName(), key);
+        } else {
+            metrics.misses(getName(), 1);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.redis.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Hands out {@link InstrumentedCache} wrappers around the caches of another manager.
+ */
+public class InstrumentedCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final CacheMetrics metrics;
+    private final HotKeyTracker hotKeyTracker;
+    private final AdaptiveTtlPolicy ttlPolicy;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public InstrumentedCacheManager(CacheManager delegate, CacheMetrics metrics, HotKeyTracker hotKeyTracker,
+                                    AdaptiveTtlPolicy ttlPolicy) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.hotKeyTracker = hotKeyTracker;
+        this.ttlPolicy = ttlPolicy;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> new InstrumentedCache(target, metrics, hotKeyTracker, ttlPolicy));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.redis.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Records the size of every value written to or read from Redis for one cache.
+ */
+public class MeteredRedisSerializer implements RedisSerializer<Object> {
+
+    private final RedisSerializer<Object> delegate;
+    private final String cacheName;
+    private final CacheMetrics metrics;
+
+    public MeteredRedisSerializer(RedisSerializer<Object> delegate, String cacheName, CacheMetrics metrics) {
+        this.delegate = delegate;
+        this.cacheName = cacheName;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        byte[] bytes = delegate.serialize(value);
+        if (bytes != null) {
+            metrics.payload(cacheName, "write", bytes.length);
+        }
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes != null) {
+            metrics.payload(cacheName, "read", bytes.length);
+        }
+        return delegate.deserialize(bytes);
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.redis.cache;
+
+import com.example.redis.config.RedisConfig;
+import com.example.redis.model.Product;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Direct access to the per-product entries of the "products" cache plus a sorted-set index
+ * of product IDs, used to serve paginated listings without caching whole lists. Also keeps
+ * each product's row version under its own small key, so conditional GETs can be answered
+ * without reading the cached product.
+ */
+@Component
+public class ProductCacheStore {
+
+    private static final String INDEX_KEY = "products:index";
+    private static final String INDEX_BUILD_PREFIX = "products:index:build:";
+    private static final Duration INDEX_BUILD_TTL = Duration.ofHours(1);
+    private static final int PIPELINE_CHUNK = 1000;
+    private static final String VERSION_PREFIX = "products:version:";
+    // Bounds how long a version read from the database just before a concurrent write can linger
+    private static final Duration VERSION_TTL = Duration.ofMinutes(10);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisSerializer<Object> valueSerializer;
+    private final CacheMetrics metrics;
+    private final HotKeyTracker hotKeyTracker;
+    private final AdaptiveTtlPolicy ttlPolicy;
+
+    public ProductCacheStore(StringRedisTemplate redisTemplate, RedisSerializer<Object> cacheValueSerializer,
+                             CacheMetrics metrics, HotKeyTracker hotKeyTracker, AdaptiveTtlPolicy ttlPolicy) {
+        this.redisTemplate = redisTemplate;
+        this.valueSerializer = cacheValueSerializer;
+        this.metrics = metrics;
+        this.hotKeyTracker = hotKeyTracker;
+        this.ttlPolicy = ttlPolicy;
+    }
+
+    // Same key layout RedisCacheManager uses: "<cacheName>::<key>"
+    public static String cacheKey(Long id) {
+        return RedisConfig.PRODUCTS_CACHE + "::" + id;
+    }
+
+    public static String versionKey(Long id) {
+        return VERSION_PREFIX + id;
+    }
+
+    public Long getVersion(Long id) {
+        String version = redisTemplate.opsForValue().get(versionKey(id));
+        return version != null ? Long.valueOf(version) : null;
+    }
+
+    public void putVersion(Long id, Long version) {
+        redisTemplate.opsForValue().set(versionKey(id), version.toString(), VERSION_TTL);
+    }
+
+    // For versions read from the database: never overwrite one a writer has just stored
+    public void putVersionIfAbsent(Long id, Long version) {
+        redisTemplate.opsForValue().setIfAbsent(versionKey(id), version.toString(), VERSION_TTL);
+    }
+
+    public void evictVersion(Long id) {
+        redisTemplate.delete(versionKey(id));
+    }
+
+    public void index(Long id) {
+        redisTemplate.opsForZSet().add(INDEX_KEY, id.toString(), id);
+    }
+
+    public void unindex(Long id) {
+        redisTemplate.opsForZSet().remove(INDEX_KEY, id.toString());
+    }
+
+    public void unindexAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        redisTemplate.opsForZSet().remove(INDEX_KEY, ids.stream().map(String::valueOf).toArray());
+    }
+
+    public long indexSize() {
+        Long size = redisTemplate.opsForZSet().zCard(INDEX_KEY);
+        return size != null ? size : 0;
+    }
+
+    public List<Long> indexRange(long offset, int count) {
+        return toIds(redisTemplate.opsForZSet().range(INDEX_KEY, offset, offset + count - 1));
+    }
+
+    // Most read products first, as ranked by the hot-key tracker that samples reads of the cache
+    public List<Long> hottestIds(int count) {
+        return toIds(hotKeyTracker.topKeys(RedisConfig.PRODUCTS_CACHE, count));
+    }
+
+    /**
+     * Starts a rebuild of the listing index. The new index is filled under its own key, which
+     * readers don't see, and replaces the live one in {@link #publishIndex}; concurrent rebuilds
+     * don't share a key. Until published it expires on its own, so an abandoned rebuild leaves
+     * nothing behind.
+     */
+    public String newIndexBuild() {
+        return INDEX_BUILD_PREFIX + UUID.randomUUID();
+    }
+
+    public void addToIndex(String build, List<Long> ids) {
+        byte[] buildKey = build.getBytes(StandardCharsets.UTF_8);
+        for (int from = 0; from < ids.size(); from += PIPELINE_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + PIPELINE_CHUNK, ids.size()));
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Long id : chunk) {
+                    connection.zSetCommands().zAdd(buildKey, id, id.toString().getBytes(StandardCharsets.UTF_8));
+                }
+                connection.keyCommands().expire(buildKey, INDEX_BUILD_TTL.getSeconds());
+                return null;
+            });
+        }
+    }
+
+    // Swaps the finished index in with RENAME; with no ids added there is nothing to rename
+    public void publishIndex(String build, boolean empty) {
+        if (empty) {
+            redisTemplate.delete(INDEX_KEY);
+            return;
+        }
+        redisTemplate.rename(build, INDEX_KEY);
+        redisTemplate.persist(INDEX_KEY);
+    }
+
+    /**
+     * Reads the cached entries for the given IDs with a single MGET.
+     * IDs that are missing (or cached as null) are absent from the returned map.
+     */
+    public Map<Long, Product> getAll(List<Long> ids) {
+        Map<Long, Product> hits = new HashMap<>();
+        if (ids.isEmpty()) {
+            return hits;
+        }
+        hotKeyTracker.recordAll(RedisConfig.PRODUCTS_CACHE, ids);
+        byte[][] keys = new byte[ids.size()][];
+        for (int i = 0; i < ids.size(); i++) {
+            keys[i] = cacheKey(ids.get(i)).getBytes(StandardCharsets.UTF_8);
+            ttlPolicy.recordRead(RedisConfig.PRODUCTS_CACHE, ids.get(i));
+        }
+        List<byte[]> values = metrics.redis(RedisConfig.PRODUCTS_CACHE, "mget", () -> redisTemplate.execute(
+                (RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(keys)));
+        if (values == null) {
+            metrics.misses(RedisConfig.PRODUCTS_CACHE, ids.size());
+            return hits;
+        }
+        for (int i = 0; i < values.size(); i++) {
+            byte[] raw = values.get(i);
+            if (raw == null) {
+                continue;
+            }
+            Object value = valueSerializer.deserialize(raw);
+            if (value instanceof Product product) {
+                hits.put(ids.get(i), product);
+            }
+        }
+        metrics.hits(RedisConfig.PRODUCTS_CACHE, hits.size());
+        metrics.misses(RedisConfig.PRODUCTS_CACHE, ids.size() - hits.size());
+        ttlPolicy.refreshOnHits(RedisConfig.PRODUCTS_CACHE, hits.keySet());
+        return hits;
+    }
+
+    /**
+     * Writes the given products into the cache in one pipeline, each with its own adaptive TTL.
+     */
+    public void putAll(Collection<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        RedisCallback<Object> writes = connection -> {
+            for (Product product : products) {
+                byte[] key = cacheKey(product.getId()).getBytes(StandardCharsets.UTF_8);
+                Expiration ttl = Expiration.from(ttlPolicy.ttlForWrite(RedisConfig.PRODUCTS_CACHE, product.getId()));
+                connection.stringCommands().set(key, valueSerializer.serialize(product), ttl, SetOption.upsert());
+            }
+            return null;
+        };
+        metrics.redisRun(RedisConfig.PRODUCTS_CACHE, "pipelinedSet", () -> redisTemplate.executePipelined(writes));
+        metrics.puts(RedisConfig.PRODUCTS_CACHE, products.size());
+    }
+
+    private static List<Long> toIds(Set<String> members) {
+        List<Long> ids = new ArrayList<>();
+        if (members != null) {
+            for (String member : members) {
+                ids.add(Long.valueOf(member));
+            }
+        }
+        return ids;
+    }
+}
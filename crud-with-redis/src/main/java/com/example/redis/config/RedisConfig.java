@@ -1,5 +1,14 @@
 package com.example.redis.config;
 
+import com.example.redis.cache.AdaptiveTtlPolicy;
+import com.example.redis.cache.CacheMetrics;
+import com.example.redis.cache.CacheTtlProperties;
+import com.example.redis.cache.CompactProductSerializer;
+import com.example.redis.cache.HotKeyTracker;
+import com.example.redis.cache.InstrumentedCacheManager;
+import com.example.redis.cache.MeteredRedisSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,21 +17,44 @@ import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
-
-import java.time.Duration;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 @Configuration
+@EnableConfigurationProperties(CacheTtlProperties.class)
 public class RedisConfig {
 
+    public static final String PRODUCTS_CACHE = "products";
+
+    // Shared by the cache manager and ProductCacheStore so both read and write the same format.
+    // "compact" still reads JSON entries, so switching over needs no cache flush.
+    @Bean
+    public RedisSerializer<Object> cacheValueSerializer(
+            @Value("${cache.value-serializer:json}") String format,
+            @Value("${cache.compression-threshold:512}") int compressionThreshold,
+            CacheMetrics cacheMetrics) {
+        GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+        RedisSerializer<Object> serializer = "compact".equalsIgnoreCase(format)
+                ? new CompactProductSerializer(json, compressionThreshold)
+                : json;
+        return new MeteredRedisSerializer(serializer, PRODUCTS_CACHE, cacheMetrics);
+    }
+
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     RedisSerializer<Object> cacheValueSerializer,
+                                     CacheMetrics cacheMetrics,
+                                     HotKeyTracker hotKeyTracker,
+                                     AdaptiveTtlPolicy ttlPolicy) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
-                        .fromSerializer(new GenericJackson2JsonRedisSerializer()));
+                        .fromSerializer(cacheValueSerializer));
 
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(config)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(config.entryTtl(ttlPolicy.defaultTtl()))
+                .withCacheConfiguration(PRODUCTS_CACHE, config.entryTtl(ttlPolicy.forCache(PRODUCTS_CACHE)))
                 .build();
+        // Not a bean itself, so initialize it here before wrapping
+        redisCacheManager.afterPropertiesSet();
+        return new InstrumentedCacheManager(redisCacheManager, cacheMetrics, hotKeyTracker, ttlPolicy);
     }
 }
@@ -0,0 +1,47 @@
+package com.example.redis.controller;
+
+import com.example.redis.exception.InsufficientStockException;
+import com.example.redis.exception.ProductNotFoundException;
+import com.example.redis.service.InventoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+@RestController
+@RequestMapping("/api/products/{id}/inventory")
+public class InventoryController {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Long>> getStock(@PathVariable Long id) {
+        return respond(id, () -> inventoryService.getStock(id));
+    }
+
+    @PostMapping("/increment")
+    public ResponseEntity<Map<String, Long>> increment(@PathVariable Long id, @RequestParam long amount) {
+        return respond(id, () -> inventoryService.increment(id, amount));
+    }
+
+    @PostMapping("/reserve")
+    public ResponseEntity<Map<String, Long>> reserve(@PathVariable Long id, @RequestParam long amount) {
+        return respond(id, () -> inventoryService.reserve(id, amount));
+    }
+
+    private ResponseEntity<Map<String, Long>> respond(Long id, LongSupplier operation) {
+        try {
+            return ResponseEntity.ok(Map.of("productId", id, "quantity", operation.getAsLong()));
+        } catch (ProductNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (InsufficientStockException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package com.example.redis.controller;
 
+import com.example.redis.exception.ProductNotFoundException;
 import com.example.redis.model.Product;
+import com.example.redis.model.ProductPage;
 import com.example.redis.service.ProductService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/products")
@@ -17,14 +23,36 @@ public class ProductController {
     private ProductService productService;
 
     @GetMapping
-    public List<Product> getAllProducts() {
-        return productService.getAllProducts();
+    public ProductPage getProducts(@RequestParam(defaultValue = "0") int page,
+                                   @RequestParam(defaultValue = "20") int size) {
+        return productService.getProducts(page, size);
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<Product>> getProductsByIds(@RequestParam List<Long> ids) {
+        try {
+            return ResponseEntity.ok(productService.getProductsByIds(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // With If-None-Match only the version is looked up; 304 skips loading and serializing the product
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
+    public ResponseEntity<Product> getProductById(@PathVariable Long id, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = productService.getProductVersion(id);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (request.checkNotModified(etag(version.get()))) {
+                return null;
+            }
+        }
         return productService.getProductById(id)
-                .map(ResponseEntity::ok)
+                .map(product -> product.getVersion() != null
+                        ? ResponseEntity.ok().eTag(etag(product.getVersion())).body(product)
+                        : ResponseEntity.ok(product))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -39,8 +67,10 @@ public class ProductController {
         try {
             Product updated = productService.updateProduct(id, product);
             return ResponseEntity.ok(updated);
-        } catch (RuntimeException e) {
+        } catch (ProductNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
     }
 
@@ -55,4 +85,8 @@ public class ProductController {
         productService.clearCache();
         return ResponseEntity.ok("Cache cleared successfully");
     }
+
+    private static String etag(Long version) {
+        return "\"" + version + "\"";
+    }
 }
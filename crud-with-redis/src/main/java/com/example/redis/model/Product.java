@@ -1,6 +1,8 @@
 package com.example.redis.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
 import java.io.Serializable;
 
 @Entity
@@ -15,6 +17,11 @@ public class Product implements Serializable {
     private Double price;
     private Integer quantity;
 
+    // Bumped by every write, including inventory flushes; backs the ETag of GET /api/products/{id}
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     public Product() {}
 
     public Product(String name, String description, Double price, Integer quantity) {
@@ -63,4 +70,12 @@ public class Product implements Serializable {
     public void setQuantity(Integer quantity) {
         this.quantity = quantity;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,61 @@
+package com.example.redis.model;
+
+import java.util.List;
+
+public class ProductPage {
+    private List<Product> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+
+    public ProductPage() {}
+
+    public ProductPage(List<Product> content, int page, int size, long totalElements) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.totalPages = (int) ((totalElements + size - 1) / size);
+    }
+
+    public List<Product> getContent() {
+        return content;
+    }
+
+    public void setContent(List<Product> content) {
+        this.content = content;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(long totalElements) {
+        this.totalElements = totalElements;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    public void setTotalPages(int totalPages) {
+        this.totalPages = totalPages;
+    }
+}
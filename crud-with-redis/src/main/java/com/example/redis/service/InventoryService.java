@@ -0,0 +1,234 @@
+package com.example.redis.service;
+
+import com.example.redis.cache.AdaptiveTtlPolicy;
+import com.example.redis.cache.ProductCacheStore;
+import com.example.redis.config.RedisConfig;
+import com.example.redis.exception.InsufficientStockException;
+import com.example.redis.exception.ProductNotFoundException;
+import com.example.redis.model.Product;
+import com.example.redis.repository.ProductRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stock levels for products live in Redis counters ("inventory:{id}") while they are being
+ * changed, so concurrent increments and reservations never contend on the products row.
+ *
+ * Every change adds the ID to "inventory:dirty". The flusher atomically renames that set to
+ * "inventory:flushing", writes the current counters back to Postgres in JDBC batches and then
+ * deletes it. A crash mid-flush leaves "inventory:flushing" behind, and the next flush (or
+ * startup) picks it up again; writing absolute values makes a repeated flush harmless.
+ *
+ * Counters stay within the int range of products.quantity: increments that would pass it are
+ * rejected, and a counter that still holds something else is moved to "inventory:dead-letter"
+ * instead of failing the whole flush.
+ */
+@Service
+public class InventoryService {
+
+    private static final String COUNTER_PREFIX = "inventory:";
+    private static final String DIRTY_KEY = "inventory:dirty";
+    private static final String FLUSHING_KEY = "inventory:flushing";
+    private static final String DEAD_LETTER_KEY = "inventory:dead-letter";
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private static final long NOT_LOADED = -2;
+    private static final long INSUFFICIENT = -1;
+    private static final long OVERFLOW = -3;
+
+    // KEYS[1]=counter KEYS[2]=dirty set, ARGV[1]=delta ARGV[2]=product id ARGV[3]=max quantity
+    private static final RedisScript<Long> ADJUST = RedisScript.of("""
+            local current = redis.call('GET', KEYS[1])
+            if not current then return -2 end
+            local updated = tonumber(current) + tonumber(ARGV[1])
+            if updated < 0 then return -1 end
+            if updated > tonumber(ARGV[3]) then return -3 end
+            updated = redis.call('INCRBY', KEYS[1], ARGV[1])
+            redis.call('SADD', KEYS[2], ARGV[2])
+            return updated
+            """, Long.class);
+
+    // KEYS[1]=counter KEYS[2]=dirty set, ARGV[1]=quantity ARGV[2]=product id
+    private static final RedisScript<Long> RESET = RedisScript.of("""
+            redis.call('SET', KEYS[1], ARGV[1])
+            return redis.call('SADD', KEYS[2], ARGV[2])
+            """, Long.class);
+
+    // KEYS[1]=dirty set KEYS[2]=flushing set; retries a leftover flushing set before taking a new one
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> BEGIN_FLUSH = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[2]) == 1 then
+                return redis.call('SMEMBERS', KEYS[2])
+            end
+            if redis.call('EXISTS', KEYS[1]) == 0 then return {} end
+            redis.call('RENAME', KEYS[1], KEYS[2])
+            return redis.call('SMEMBERS', KEYS[2])
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final AdaptiveTtlPolicy ttlPolicy;
+
+    public InventoryService(StringRedisTemplate redisTemplate, ProductRepository productRepository,
+                            JdbcTemplate jdbcTemplate, AdaptiveTtlPolicy ttlPolicy) {
+        this.redisTemplate = redisTemplate;
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlPolicy = ttlPolicy;
+    }
+
+    public long getStock(Long id) {
+        String value = redisTemplate.opsForValue().get(counterKey(id));
+        if (value != null) {
+            return Long.parseLong(value);
+        }
+        return load(id);
+    }
+
+    public long increment(Long id, long amount) {
+        if (amount <= 0 || amount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Amount must be between 1 and " + Integer.MAX_VALUE);
+        }
+        return adjust(id, amount);
+    }
+
+    public long reserve(Long id, long amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        return adjust(id, -amount);
+    }
+
+    /**
+     * Called when the quantity is overwritten through the regular product update. The id is
+     * marked dirty rather than cleared: a flush that read the old counter before this call may
+     * still write it over the new quantity, and the next flush then writes the new one back.
+     */
+    public void reset(Long id, Integer quantity) {
+        redisTemplate.execute(RESET, List.of(counterKey(id), DIRTY_KEY),
+                String.valueOf(quantity != null ? quantity : 0), id.toString());
+    }
+
+    public void forget(Long id) {
+        redisTemplate.delete(counterKey(id));
+        redisTemplate.opsForSet().remove(DIRTY_KEY, id.toString());
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.flush-interval-ms:1000}")
+    public void flush() {
+        List<String> ids = toStrings(redisTemplate.execute(BEGIN_FLUSH, List.of(DIRTY_KEY, FLUSHING_KEY)));
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        List<String> keys = new ArrayList<>();
+        for (String id : ids) {
+            keys.add(COUNTER_PREFIX + id);
+        }
+        List<String> counts = redisTemplate.opsForValue().multiGet(keys);
+
+        List<Object[]> rows = new ArrayList<>();
+        List<String> cacheKeys = new ArrayList<>();
+        List<String> deadLetters = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            String count = counts != null ? counts.get(i) : null;
+            if (count == null) {
+                continue;
+            }
+            Integer quantity = toQuantity(count);
+            if (quantity == null) {
+                deadLetters.add(ids.get(i));
+                continue;
+            }
+            Long id = Long.valueOf(ids.get(i));
+            rows.add(new Object[]{quantity, id});
+            cacheKeys.add(ProductCacheStore.cacheKey(id));
+            cacheKeys.add(ProductCacheStore.versionKey(id));
+            ttlPolicy.recordUpdate(RedisConfig.PRODUCTS_CACHE, id);
+        }
+
+        for (int from = 0; from < rows.size(); from += FLUSH_BATCH_SIZE) {
+            jdbcTemplate.batchUpdate("UPDATE products SET quantity = ?, version = version + 1 WHERE id = ?",
+                    rows.subList(from, Math.min(from + FLUSH_BATCH_SIZE, rows.size())));
+        }
+
+        if (!deadLetters.isEmpty()) {
+            redisTemplate.opsForSet().add(DEAD_LETTER_KEY, deadLetters.toArray(new String[0]));
+            System.out.println("⚠️ Skipped inventory counters outside the quantity range: " + deadLetters);
+        }
+        // Cached products and versions still describe the old quantity
+        redisTemplate.delete(cacheKeys);
+        redisTemplate.delete(FLUSHING_KEY);
+        System.out.println("📤 Flushed inventory for " + rows.size() + " products to DATABASE");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        Long pending = redisTemplate.opsForSet().size(FLUSHING_KEY);
+        if (pending != null && pending > 0) {
+            System.out.println("♻️ Recovering " + pending + " unflushed inventory changes");
+        }
+        flush();
+    }
+
+    private long adjust(Long id, long delta) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Long result = redisTemplate.execute(ADJUST, List.of(counterKey(id), DIRTY_KEY),
+                    String.valueOf(delta), id.toString(), String.valueOf(Integer.MAX_VALUE));
+            if (result == null || result == NOT_LOADED) {
+                load(id);
+                continue;
+            }
+            if (result == INSUFFICIENT) {
+                throw new InsufficientStockException("Not enough stock for product " + id);
+            }
+            if (result == OVERFLOW) {
+                throw new IllegalArgumentException("Stock for product " + id + " would exceed " + Integer.MAX_VALUE);
+            }
+            return result;
+        }
+        throw new IllegalStateException("Inventory counter for product " + id + " could not be loaded");
+    }
+
+    // Seeds the counter from Postgres unless another request already did
+    private long load(Long id) {
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found"));
+        long quantity = product.getQuantity() != null ? product.getQuantity() : 0;
+        redisTemplate.opsForValue().setIfAbsent(counterKey(id), String.valueOf(quantity));
+        return Long.parseLong(redisTemplate.opsForValue().get(counterKey(id)));
+    }
+
+    // The counter as a products.quantity value, or null when it doesn't fit
+    private static Integer toQuantity(String count) {
+        try {
+            long value = Long.parseLong(count);
+            return value >= 0 && value <= Integer.MAX_VALUE ? (int) value : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String counterKey(Long id) {
+        return COUNTER_PREFIX + id;
+    }
+
+    private static List<String> toStrings(List<?> values) {
+        List<String> strings = new ArrayList<>();
+        if (values != null) {
+            for (Object value : values) {
+                strings.add(String.valueOf(value));
+            }
+        }
+        return strings;
+    }
+}
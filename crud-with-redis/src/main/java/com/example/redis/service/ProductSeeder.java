@@ -0,0 +1,90 @@
+package com.example.redis.service;
+
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates synthetic products until the table holds {@code seed.target-count} rows.
+ * Rows are written in chunks of {@code seed.batch-size}, either as JDBC batch inserts or,
+ * with {@code seed.use-copy=true}, streamed through PostgreSQL COPY for multi-million row loads.
+ */
+@Service
+public class ProductSeeder {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+
+    @Value("${seed.target-count:100}")
+    private long targetCount;
+
+    @Value("${seed.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${seed.use-copy:false}")
+    private boolean useCopy;
+
+    public ProductSeeder(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+    }
+
+    public void seed() throws SQLException, IOException {
+        Long current = jdbcTemplate.queryForObject("SELECT count(*) FROM products", Long.class);
+        long existing = current != null ? current : 0;
+        if (existing >= targetCount) {
+            System.out.println("ℹ️ Database already has " + existing + " products");
+            return;
+        }
+
+        long missing = targetCount - existing;
+        System.out.println("🚀 Inserting " + missing + " more products" + (useCopy ? " via COPY" : "") + "...");
+        long started = System.nanoTime();
+        for (long from = existing + 1; from <= targetCount; from += batchSize) {
+            long to = Math.min(from + batchSize - 1, targetCount);
+            if (useCopy) {
+                copyRange(from, to);
+            } else {
+                insertRange(from, to);
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("✅ Total products: %d (%.0f rows/sec)%n", targetCount, missing / seconds);
+    }
+
+    private void insertRange(long from, long to) {
+        List<Object[]> rows = new ArrayList<>((int) (to - from + 1));
+        for (long i = from; i <= to; i++) {
+            rows.add(new Object[]{"Product " + i, "Description for product " + i, 100.0 + (i * 10), (int) (10 + i % 1000)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (name, description, price, quantity) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    private void copyRange(long from, long to) throws SQLException, IOException {
+        StringBuilder csv = new StringBuilder();
+        for (long i = from; i <= to; i++) {
+            csv.append("Product ").append(i).append(',')
+                    .append("Description for product ").append(i).append(',')
+                    .append(100.0 + (i * 10)).append(',')
+                    .append(10 + i % 1000).append('\n');
+        }
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            connection.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                    "COPY products (name, description, price, quantity) FROM STDIN WITH (FORMAT csv)",
+                    new StringReader(csv.toString()));
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+}
@@ -1,62 +1,238 @@
 package com.example.redis.service;
 
+import com.example.redis.cache.AdaptiveTtlPolicy;
+import com.example.redis.cache.CacheMetrics;
+import com.example.redis.cache.ProductCacheStore;
+import com.example.redis.config.RedisConfig;
+import com.example.redis.exception.ProductNotFoundException;
 import com.example.redis.model.Product;
+import com.example.redis.model.ProductPage;
 import com.example.redis.repository.ProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class ProductService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BATCH_SIZE = 500;
+    private static final int WARM_UP_CHUNK = 1000;
+    private static final int INDEX_CHUNK = 1000;
+    private static final int UPDATE_ATTEMPTS = 3;
+
     @Autowired
     private ProductRepository productRepository;
 
-    @Cacheable(value = "products")
-    public List<Product> getAllProducts() {
-        System.out.println("📦 Fetching all products from DATABASE");
-        return productRepository.findAll();
+    @Autowired
+    private ProductCacheStore productCacheStore;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private CacheMetrics cacheMetrics;
+
+    @Autowired
+    private AdaptiveTtlPolicy ttlPolicy;
+
+    public ProductPage getProducts(int page, int size) {
+        int pageNumber = Math.max(page, 0);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        long total = productCacheStore.indexSize();
+        // An empty index is either missing or an empty catalog; only the first needs a rebuild
+        if (total == 0 && !productRepository.findIdsAfter(0L, PageRequest.ofSize(1)).isEmpty()) {
+            total = rebuildIndex();
+        }
+
+        List<Long> ids = productCacheStore.indexRange((long) pageNumber * pageSize, pageSize);
+        return new ProductPage(getProductsByIds(ids), pageNumber, pageSize, total);
+    }
+
+    /**
+     * Rebuilds the listing index from the table, {@value #INDEX_CHUNK} ids at a time, so the ids
+     * are never all held in memory. Readers keep using the old index until the new one is
+     * complete. Products created while it runs have higher ids than those already read, so the
+     * later chunks pick them up.
+     */
+    public long rebuildIndex() {
+        System.out.println("📇 Rebuilding product index from DATABASE");
+        String build = productCacheStore.newIndexBuild();
+        Pageable chunk = PageRequest.ofSize(INDEX_CHUNK);
+        long total = 0;
+        // IDENTITY ids start at 1
+        List<Long> ids = productRepository.findIdsAfter(0L, chunk);
+        while (!ids.isEmpty()) {
+            productCacheStore.addToIndex(build, ids);
+            total += ids.size();
+            if (ids.size() < INDEX_CHUNK) {
+                break;
+            }
+            ids = productRepository.findIdsAfter(ids.get(ids.size() - 1), chunk);
+        }
+        productCacheStore.publishIndex(build, total == 0);
+        return total;
+    }
+
+    /**
+     * Pre-loads up to {@code count} products into the cache, hottest first when an access
+     * ranking exists, otherwise the first page of the listing index.
+     */
+    public int warmUp(int count) {
+        if (count <= 0) {
+            return 0;
+        }
+        List<Long> ids = productCacheStore.hottestIds(count);
+        if (ids.isEmpty()) {
+            ids = productCacheStore.indexRange(0, count);
+        }
+        int loaded = 0;
+        for (int from = 0; from < ids.size(); from += WARM_UP_CHUNK) {
+            List<Product> products = productRepository.findAllById(ids.subList(from, Math.min(from + WARM_UP_CHUNK, ids.size())));
+            productCacheStore.putAll(products);
+            loaded += products.size();
+        }
+        System.out.println("🔥 Warmed up cache with " + loaded + " products");
+        return loaded;
     }
 
     @Cacheable(value = "products", key = "#id")
     public Optional<Product> getProductById(Long id) {
         System.out.println("📦 Fetching product " + id + " from DATABASE");
-        return productRepository.findById(id);
+        return cacheMetrics.load(RedisConfig.PRODUCTS_CACHE, () -> productRepository.findById(id));
+    }
+
+    /**
+     * The product's current row version, for ETag checks. Served from Redis when known, otherwise
+     * by a single-column lookup; empty if the product does not exist.
+     */
+    public Optional<Long> getProductVersion(Long id) {
+        Long cached = productCacheStore.getVersion(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Long> version = productRepository.findVersionById(id);
+        version.ifPresent(v -> productCacheStore.putVersionIfAbsent(id, v));
+        return version;
     }
 
     @CachePut(value = "products", key = "#result.id")
     public Product createProduct(Product product) {
         System.out.println("💾 Saving product to DATABASE");
-        return productRepository.save(product);
+        product.setVersion(null);
+        Product saved = productRepository.save(product);
+        productCacheStore.index(saved.getId());
+        productCacheStore.putVersion(saved.getId(), saved.getVersion());
+        return saved;
     }
 
+    /**
+     * A PUT replaces every field, so a version conflict only means the row was written in
+     * between, usually by the inventory flush bumping the version; the update is applied again
+     * to the fresh row, up to {@value #UPDATE_ATTEMPTS} times.
+     */
     @CachePut(value = "products", key = "#id")
     public Product updateProduct(Long id, Product productDetails) {
         System.out.println("✏️ Updating product " + id + " in DATABASE");
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Product not found"));
-        
-        product.setName(productDetails.getName());
-        product.setDescription(productDetails.getDescription());
-        product.setPrice(productDetails.getPrice());
-        product.setQuantity(productDetails.getQuantity());
-        
-        return productRepository.save(product);
+        Product saved = null;
+        for (int attempt = 1; saved == null; attempt++) {
+            Product product = productRepository.findById(id)
+                    .orElseThrow(() -> new ProductNotFoundException("Product not found"));
+
+            product.setName(productDetails.getName());
+            product.setDescription(productDetails.getDescription());
+            product.setPrice(productDetails.getPrice());
+            product.setQuantity(productDetails.getQuantity());
+
+            try {
+                saved = productRepository.save(product);
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == UPDATE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+        productCacheStore.index(saved.getId());
+        productCacheStore.putVersion(id, saved.getVersion());
+        inventoryService.reset(id, saved.getQuantity());
+        ttlPolicy.recordUpdate(RedisConfig.PRODUCTS_CACHE, id);
+        return saved;
     }
 
     @CacheEvict(value = "products", key = "#id")
     public void deleteProduct(Long id) {
         System.out.println("🗑️ Deleting product " + id + " from DATABASE");
         productRepository.deleteById(id);
+        productCacheStore.unindex(id);
+        productCacheStore.evictVersion(id);
+        inventoryService.forget(id);
+        ttlPolicy.recordUpdate(RedisConfig.PRODUCTS_CACHE, id);
     }
 
     @CacheEvict(value = "products", allEntries = true)
     public void clearCache() {
         System.out.println("🧹 Clearing all cache");
     }
+
+    /**
+     * Bulk lookup: one MGET against Redis, one findAllById for the misses and one pipeline
+     * to back-fill them. Results follow the order of {@code ids}; unknown IDs are skipped.
+     */
+    public List<Product> getProductsByIds(List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " ids per request");
+        }
+        // "ids=1,,2" binds an empty element as null
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("ids must not contain empty values");
+        }
+        ids = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, Product> found = productCacheStore.getAll(ids);
+
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            if (!found.containsKey(id)) {
+                misses.add(id);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            System.out.println("📦 Fetching " + misses.size() + " products from DATABASE");
+            List<Product> loaded = cacheMetrics.load(RedisConfig.PRODUCTS_CACHE, () -> productRepository.findAllById(misses));
+            for (Product product : loaded) {
+                found.put(product.getId(), product);
+            }
+            productCacheStore.putAll(loaded);
+
+            // IDs still unresolved were deleted behind the index's back
+            List<Long> stale = new ArrayList<>();
+            for (Long id : misses) {
+                if (!found.containsKey(id)) {
+                    stale.add(id);
+                }
+            }
+            productCacheStore.unindexAll(stale);
+        }
+
+        List<Product> products = new ArrayList<>();
+        for (Long id : ids) {
+            Product product = found.get(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
 }
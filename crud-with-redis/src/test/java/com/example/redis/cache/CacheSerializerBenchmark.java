@@ -0,0 +1,108 @@
+package com.example.redis.cache;
+
+import com.example.redis.model.Product;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the JSON cache format with {@link CompactProductSerializer} on bytes per entry
+ * and encode/decode throughput. Plain main method, no Redis needed:
+ *
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) com.example.redis.cache.CacheSerializerBenchmark
+ * </pre>
+ */
+public class CacheSerializerBenchmark {
+
+    private static final int PRODUCTS = 10_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    // Keeps the JIT from discarding the measured work
+    private static volatile long sink;
+
+    public static void main(String[] args) {
+        List<Product> shortProducts = products(40);
+        List<Product> longProducts = products(2_000);
+
+        GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+        RedisSerializer<Object> compact = new CompactProductSerializer(json, 0);
+        RedisSerializer<Object> compressed = new CompactProductSerializer(json, 512);
+
+        System.out.printf("%-22s %-12s %12s %14s %14s%n", "serializer", "description", "bytes/entry", "encode ops/s", "decode ops/s");
+        run("json", json, shortProducts, "40 chars");
+        run("compact", compact, shortProducts, "40 chars");
+        run("compact+deflate(512)", compressed, shortProducts, "40 chars");
+        run("json", json, longProducts, "2000 chars");
+        run("compact", compact, longProducts, "2000 chars");
+        run("compact+deflate(512)", compressed, longProducts, "2000 chars");
+    }
+
+    private static void run(String name, RedisSerializer<Object> serializer, List<Product> products, String label) {
+        byte[][] encoded = new byte[products.size()][];
+        long bytes = 0;
+        for (int i = 0; i < products.size(); i++) {
+            encoded[i] = serializer.serialize(products.get(i));
+            bytes += encoded[i].length;
+        }
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            encodeAll(serializer, products);
+            decodeAll(serializer, encoded);
+        }
+
+        long encodeNanos = 0;
+        long decodeNanos = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            sink += encodeAll(serializer, products);
+            encodeNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            sink += decodeAll(serializer, encoded);
+            decodeNanos += System.nanoTime() - start;
+        }
+
+        long ops = (long) products.size() * MEASURED_ROUNDS;
+        System.out.printf("%-22s %-12s %12d %14.0f %14.0f%n", name, label,
+                bytes / products.size(),
+                ops / (encodeNanos / 1e9),
+                ops / (decodeNanos / 1e9));
+    }
+
+    private static long encodeAll(RedisSerializer<Object> serializer, List<Product> products) {
+        long total = 0;
+        for (Product product : products) {
+            total += serializer.serialize(product).length;
+        }
+        return total;
+    }
+
+    private static long decodeAll(RedisSerializer<Object> serializer, byte[][] encoded) {
+        long total = 0;
+        for (byte[] bytes : encoded) {
+            Product product = (Product) serializer.deserialize(bytes);
+            total += product.getQuantity();
+        }
+        return total;
+    }
+
+    private static List<Product> products(int descriptionLength) {
+        List<Product> products = new ArrayList<>(PRODUCTS);
+        for (int i = 1; i <= PRODUCTS; i++) {
+            StringBuilder description = new StringBuilder();
+            while (description.length() < descriptionLength) {
+                description.append("Description for product ").append(i).append(". ");
+            }
+            Product product = new Product("Product " + i, description.substring(0, descriptionLength),
+                    100.0 + (i * 10), 10 + i);
+            product.setId((long) i);
+            products.add(product);
+        }
+        return products;
+    }
+}
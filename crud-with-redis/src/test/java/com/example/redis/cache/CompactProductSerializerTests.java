@@ -0,0 +1,91 @@
+package com.example.redis.cache;
+
+import com.example.redis.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CompactProductSerializerTests {
+
+    private final RedisSerializer<Object> json = new GenericJackson2JsonRedisSerializer();
+    private final CompactProductSerializer serializer = new CompactProductSerializer(json, 512);
+
+    @Test
+    void roundTripsEveryFieldIncludingRowVersion() {
+        Product product = product("Keyboard", "Mechanical, ünïcödé", 7L);
+
+        byte[] bytes = serializer.serialize(product);
+
+        assertEquals(CompactProductSerializer.MAGIC, bytes[0]);
+        assertEquals(CompactProductSerializer.VERSION, bytes[1]);
+        assertEquals(0, bytes[2]);
+        assertSameProduct(product, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void leavesAbsentFieldsAbsent() {
+        Product product = new Product();
+        product.setId(3L);
+        product.setName("No description, price, quantity or row version");
+
+        Product read = (Product) serializer.deserialize(serializer.serialize(product));
+
+        assertSameProduct(product, read);
+        assertNull(read.getVersion());
+    }
+
+    @Test
+    void deflatesLongBodies() {
+        Product product = product("Lamp", "warm white ".repeat(100), 42L);
+
+        byte[] bytes = serializer.serialize(product);
+
+        assertEquals(1, bytes[2] & 1);
+        assertSameProduct(product, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void readsEntriesWrittenByTheJsonSerializer() {
+        Product product = product("Mug", "Stoneware", 5L);
+
+        assertSameProduct(product, serializer.deserialize(json.serialize(product)));
+    }
+
+    @Test
+    void handsOtherValuesToTheJsonSerializer() {
+        byte[] bytes = serializer.serialize(NullValue.INSTANCE);
+
+        assertEquals(new String(json.serialize(NullValue.INSTANCE)), new String(bytes));
+        assertInstanceOf(NullValue.class, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void treatsUnknownFormatVersionsAsMisses() {
+        byte[] bytes = serializer.serialize(product("Pen", "Blue", 1L));
+        bytes[1] = CompactProductSerializer.VERSION + 1;
+
+        assertNull(serializer.deserialize(bytes));
+    }
+
+    private static Product product(String name, String description, Long rowVersion) {
+        Product product = new Product(name, description, 19.99, 12);
+        product.setId(101L);
+        product.setVersion(rowVersion);
+        return product;
+    }
+
+    private static void assertSameProduct(Product expected, Object actual) {
+        Product product = assertInstanceOf(Product.class, actual);
+        assertEquals(expected.getId(), product.getId());
+        assertEquals(expected.getName(), product.getName());
+        assertEquals(expected.getDescription(), product.getDescription());
+        assertEquals(expected.getPrice(), product.getPrice());
+        assertEquals(expected.getQuantity(), product.getQuantity());
+        assertEquals(expected.getVersion(), product.getVersion());
+    }
+}